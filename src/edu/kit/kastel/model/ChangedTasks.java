@@ -0,0 +1,54 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Represents the tasks of the system whose state changed since the last snapshot was taken.
+ * Only the states of these tasks are created again for the next snapshot, every task is kept once.
+ * @author ucxug
+ * @version 1.0
+ */
+final class ChangedTasks {
+    private final List<Task> tasks;
+    /**
+     * The task numbers of the changed tasks.
+     */
+    private final BitSet taskNumbers;
+
+    /**
+     * Constructs a new ChangedTasks collection without changed tasks.
+     */
+    ChangedTasks() {
+        this.tasks = new ArrayList<>();
+        this.taskNumbers = new BitSet();
+    }
+
+    /**
+     * Marks the given task as changed.
+     * @param task the changed task.
+     */
+    void add(final Task task) {
+        if (!this.taskNumbers.get(task.getTaskNumber())) {
+            this.taskNumbers.set(task.getTaskNumber());
+            this.tasks.add(task);
+        }
+    }
+
+    /**
+     * Returns the changed tasks, in the order they were first changed.
+     * @return the changed tasks, the list is not copied.
+     */
+    List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Removes all the changed tasks, after their states were created.
+     */
+    void clear() {
+        this.tasks.clear();
+        this.taskNumbers.clear();
+    }
+}
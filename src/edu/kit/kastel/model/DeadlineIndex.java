@@ -0,0 +1,127 @@
+package edu.kit.kastel.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of tasks ordered by their deadline.
+ * The tasks are stored in buckets keyed by the epoch day of their deadline, the tasks without a deadline are kept
+ *    in a separate bucket. This allows the date queries to seek directly to a date range.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class DeadlineIndex {
+    /**
+     * The tasks with a deadline, keyed by the epoch day of the deadline.
+     */
+    private final NavigableMap<Long, Set<Task>> tasksByDay;
+    /**
+     * The tasks without a deadline.
+     */
+    private final Set<Task> noDeadlineTasks;
+
+    /**
+     * Constructs a new empty DeadlineIndex.
+     */
+    public DeadlineIndex() {
+        this.tasksByDay = new TreeMap<>();
+        this.noDeadlineTasks = new LinkedHashSet<>();
+    }
+
+    /**
+     * Adds the given task to the bucket of its current deadline.
+     * @param task the task to be added.
+     */
+    public void add(final Task task) {
+        getBucket(task.getDeadlineDay()).add(task);
+    }
+
+    /**
+     * Adds the given tasks to the buckets of their current deadlines, like adding them one by one. The tasks are
+     *    grouped by their deadline first, so every bucket is looked up only once.
+     * @param tasks the tasks to be added.
+     */
+    public void addAll(final List<Task> tasks) {
+        Map<Long, List<Task>> tasksOfDays = new HashMap<>();
+        for (Task task : tasks) {
+            tasksOfDays.computeIfAbsent(task.getDeadlineDay(), day -> new ArrayList<>()).add(task);
+        }
+        for (Map.Entry<Long, List<Task>> tasksOfDay : tasksOfDays.entrySet()) {
+            getBucket(tasksOfDay.getKey()).addAll(tasksOfDay.getValue());
+        }
+    }
+
+    /**
+     * Removes the given task from the bucket of its current deadline.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        Set<Task> bucket = getBucket(task.getDeadlineDay());
+        bucket.remove(task);
+        if (task.hasDeadline() && bucket.isEmpty()) {
+            this.tasksByDay.remove(task.getDeadlineDay());
+        }
+    }
+
+    /**
+     * Moves the given task from the bucket of its old deadline to the bucket of its new deadline.
+     * @param task the task whose deadline changed.
+     * @param oldDeadlineDay the epoch day of the previous deadline of the task, Task.NO_DEADLINE if it had none.
+     * @param newDeadlineDay the epoch day of the new deadline of the task, Task.NO_DEADLINE if it has none.
+     */
+    public void update(final Task task, final long oldDeadlineDay, final long newDeadlineDay) {
+        Set<Task> oldBucket = getBucket(oldDeadlineDay);
+        oldBucket.remove(task);
+        if (oldDeadlineDay != Task.NO_DEADLINE && oldBucket.isEmpty()) {
+            this.tasksByDay.remove(oldDeadlineDay);
+        }
+        getBucket(newDeadlineDay).add(task);
+    }
+
+    /**
+     * Returns the tasks whose deadline is within the given range. Both limits are inclusive.
+     * @param startDate the first day of the range, null if the range has no lower limit.
+     * @param endDate the last day of the range, null if the range has no upper limit.
+     * @return a new list of the tasks with a deadline within the range, empty if the range ends before it starts.
+     */
+    public List<Task> getTasksBetween(final LocalDate startDate, final LocalDate endDate) {
+        List<Task> tasks = new LinkedList<>();
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return tasks;
+        }
+        NavigableMap<Long, Set<Task>> range = this.tasksByDay;
+        if (startDate != null) {
+            range = range.tailMap(startDate.toEpochDay(), true);
+        }
+        if (endDate != null) {
+            range = range.headMap(endDate.toEpochDay(), true);
+        }
+        for (Set<Task> bucket : range.values()) {
+            tasks.addAll(bucket);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks without a deadline.
+     * @return a new list of the tasks without a deadline.
+     */
+    public List<Task> getTasksWithoutDeadline() {
+        return new LinkedList<>(this.noDeadlineTasks);
+    }
+
+    private Set<Task> getBucket(final long deadlineDay) {
+        if (deadlineDay == Task.NO_DEADLINE) {
+            return this.noDeadlineTasks;
+        }
+        return this.tasksByDay.computeIfAbsent(deadlineDay, day -> new LinkedHashSet<>());
+    }
+}
@@ -0,0 +1,113 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an n-gram index over the task names.
+ * Every part of a task name with a length up to the maximal gram length is mapped to the tasks whose name contains it.
+ * A search for a longer string only needs to check the tasks of its rarest gram.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class NameIndex {
+    private static final int MAXIMAL_GRAM_LENGTH = 3;
+    /**
+     * The tasks containing each gram in their name.
+     */
+    private final Map<String, List<Task>> tasksByGram;
+
+    /**
+     * Constructs a new empty NameIndex.
+     */
+    public NameIndex() {
+        this.tasksByGram = new HashMap<>();
+    }
+
+    /**
+     * Adds the name of the given task to the index.
+     * @param task the task to be added.
+     */
+    public void add(final Task task) {
+        for (String gram : getGrams(task.getName())) {
+            this.tasksByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Adds the names of the given tasks to the index. The tasks are grouped by their name first, so the grams
+     *    of a name shared by several tasks are only created and looked up once.
+     * @param tasks the tasks to be added.
+     */
+    public void addAll(final List<Task> tasks) {
+        Map<String, List<Task>> tasksByName = new HashMap<>();
+        for (Task task : tasks) {
+            tasksByName.computeIfAbsent(task.getName(), key -> new ArrayList<>()).add(task);
+        }
+        for (Map.Entry<String, List<Task>> nameTasks : tasksByName.entrySet()) {
+            for (String gram : getGrams(nameTasks.getKey())) {
+                this.tasksByGram.computeIfAbsent(gram, key -> new ArrayList<>()).addAll(nameTasks.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes the name of the given task from the index.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        for (String gram : getGrams(task.getName())) {
+            List<Task> gramTasks = this.tasksByGram.get(gram);
+            gramTasks.remove(task);
+            if (gramTasks.isEmpty()) {
+                this.tasksByGram.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose name contains the given string sequence.
+     * @param namePart the string to be searched.
+     * @return a new list of the tasks whose name contains the string sequence.
+     */
+    public List<Task> find(final String namePart) {
+        if (namePart.length() <= MAXIMAL_GRAM_LENGTH) {
+            //The string is a gram itself, so all the tasks of the gram match.
+            return new LinkedList<>(this.tasksByGram.getOrDefault(namePart, Collections.emptyList()));
+        }
+        List<Task> candidates = null;
+        for (int start = 0; start + MAXIMAL_GRAM_LENGTH <= namePart.length(); start++) {
+            List<Task> gramTasks = this.tasksByGram.get(namePart.substring(start, start + MAXIMAL_GRAM_LENGTH));
+            if (gramTasks == null) {
+                return new LinkedList<>();
+            }
+            if (candidates == null || gramTasks.size() < candidates.size()) {
+                candidates = gramTasks;
+            }
+        }
+        List<Task> tasks = new LinkedList<>();
+        for (Task task : candidates) {
+            if (task.getName().contains(namePart)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private Set<String> getGrams(final String name) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < name.length(); start++) {
+            int maximalEnd = Math.min(name.length(), start + MAXIMAL_GRAM_LENGTH);
+            for (int end = start + 1; end <= maximalEnd; end++) {
+                grams.add(name.substring(start, end));
+            }
+        }
+        return grams;
+    }
+}
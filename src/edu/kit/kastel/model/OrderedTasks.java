@@ -0,0 +1,251 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a collection of tasks that is always kept in the order the tasks are shown.
+ * The tasks are sorted by their priority and within a priority by the time they were added, both are combined
+ *    into the key of a task in a persistent treap. Changing the priority of a task only moves it to another key,
+ *    so the tasks never need to be sorted on reading.
+ * The subtasks of a task show the restored tasks after all the tasks that were never deleted, so their collection
+ *    keeps the restored tasks in a range of keys above all the priorities.
+ * Since the treap is persistent, a frozen version of the collection can be shared by the snapshots of the system
+ *    and is not copied, the changes made afterwards only copy the nodes on their path.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class OrderedTasks implements Iterable<Task> {
+    /**
+     * The number of bits of a key taken by the order key, the priority takes the bits above.
+     */
+    private static final int ORDER_KEY_BITS = 32;
+    private static final long ORDER_KEY_MASK = (1L << ORDER_KEY_BITS) - 1;
+    /**
+     * The bit added to the key of a restored task, the highest bit of a positive key, above the bits of the priority.
+     */
+    private static final long RESTORED_KEY = 1L << (Long.SIZE - 2);
+    /**
+     * The tasks, keyed by their priority and their order key.
+     */
+    private final TaskTreap tasks;
+    /**
+     * The key of each task in the collection.
+     */
+    private final Map<Task, Long> keys;
+    /**
+     * Indicates whether the restored tasks are shown after all the tasks that were never deleted.
+     */
+    private final boolean restoredLast;
+    /**
+     * The read-only view of the collection.
+     */
+    private final Iterable<Task> view = this::iterator;
+    private int lastOrderKey;
+
+    /**
+     * Constructs a new empty OrderedTasks collection.
+     */
+    public OrderedTasks() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new empty OrderedTasks collection.
+     * @param restoredLast true if the restored tasks are shown after all the tasks that were never deleted,
+     *     false if they are shown at the end of their priority.
+     */
+    public OrderedTasks(final boolean restoredLast) {
+        this.tasks = new TaskTreap();
+        this.keys = new HashMap<>();
+        this.restoredLast = restoredLast;
+    }
+
+    /**
+     * Adds a task at the end of its priority. If the task is already in the collection, it is moved to the end.
+     * @param task the task to be added.
+     */
+    public void add(final Task task) {
+        remove(task);
+        this.lastOrderKey++;
+        long key = key(task, this.lastOrderKey);
+        this.keys.put(task, key);
+        this.tasks.put(key, task);
+    }
+
+    /**
+     * Adds new tasks at the end of their priorities, in the given order, like adding them one by one.
+     *    None of the tasks may be in the collection yet. The tasks are sorted by their keys and loaded into
+     *    the treap at once.
+     * @param newTasks the tasks to be added.
+     */
+    public void addAll(final List<Task> newTasks) {
+        for (Task task : newTasks) {
+            this.lastOrderKey++;
+            this.keys.put(task, key(task, this.lastOrderKey));
+        }
+        List<Task> sortedTasks = new ArrayList<>(newTasks);
+        sortedTasks.sort(Comparator.comparingLong(this.keys::get));
+        long[] sortedKeys = new long[sortedTasks.size()];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            sortedKeys[i] = this.keys.get(sortedTasks.get(i));
+        }
+        this.tasks.putAll(sortedKeys, sortedTasks.toArray(new Task[0]));
+    }
+
+    /**
+     * Removes a task from the collection.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        Long key = this.keys.remove(task);
+        if (key != null) {
+            this.tasks.remove(key);
+        }
+    }
+
+    /**
+     * Moves a task to the end of its priority, if it is in the collection.
+     * @param task the task to be moved.
+     */
+    public void moveToEnd(final Task task) {
+        if (contains(task)) {
+            add(task);
+        }
+    }
+
+    /**
+     * Moves a task whose priority changed to the key of its new priority. The task keeps its order key.
+     * @param task the task whose priority changed.
+     * @param oldPriority the previous priority of the task.
+     */
+    public void updatePriority(final Task task, final Priority oldPriority) {
+        Long key = this.keys.get(task);
+        if (key != null) {
+            long newKey = key + ((long) (task.getPriority().ordinal() - oldPriority.ordinal()) << ORDER_KEY_BITS);
+            this.tasks.remove(key);
+            this.keys.put(task, newKey);
+            this.tasks.put(newKey, task);
+        }
+    }
+
+    /**
+     * Checks if the collection contains the given task.
+     * @param task the task to be checked.
+     * @return true if the collection contains the task, false otherwise.
+     */
+    public boolean contains(final Task task) {
+        return this.keys.containsKey(task);
+    }
+
+    /**
+     * Returns the number of tasks in the collection.
+     * @return the number of tasks.
+     */
+    public int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Compares two tasks of the collection by the order they are shown.
+     * @param task1 the first task to be compared.
+     * @param task2 the second task to be compared.
+     * @return a negative integer, zero o a positive integer, as the first task is shown before, equal to, or after
+     *     the second task.
+     */
+    public int compare(final Task task1, final Task task2) {
+        //A task that is not in the collection is compared as the last task of its priority.
+        return Long.compare(this.keys.getOrDefault(task1, key(task1, Integer.MAX_VALUE)),
+            this.keys.getOrDefault(task2, key(task2, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Returns a read-only view of the tasks in the order they are shown.
+     * The view reflects later changes of the collection and does not copy the tasks.
+     * @return a read-only view of the tasks.
+     */
+    public Iterable<Task> getView() {
+        return this.view;
+    }
+
+    /**
+     * Returns the tasks in the order they are shown.
+     * @return a new list of the tasks.
+     */
+    public List<Task> toList() {
+        List<Task> tasks = new LinkedList<>();
+        for (Task task : this) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Freezes the current version of the collection, it is not changed by the later changes of the collection.
+     * @return the root of the frozen version, null if the collection is empty.
+     */
+    TaskTreap.Node freeze() {
+        return this.tasks.freeze();
+    }
+
+    /**
+     * Returns the tasks of a frozen version of a collection in the order they were added, a task that was moved
+     *    to the end counts as added again.
+     * Adding the tasks in this order to an empty collection restores the order of the collection,
+     *    also for the later priority changes, which keep the position of a task among the added tasks.
+     * @param root the root of the frozen version.
+     * @return a new list of the tasks.
+     */
+    static List<Task> inAddedOrder(final TaskTreap.Node root) {
+        List<TaskTreap.Node> nodes = new ArrayList<>();
+        for (Iterator<TaskTreap.Node> iterator = TaskTreap.iterator(root); iterator.hasNext();) {
+            nodes.add(iterator.next());
+        }
+        nodes.sort(Comparator.comparingLong(node -> node.getKey() & ORDER_KEY_MASK));
+        List<Task> addedTasks = new LinkedList<>();
+        for (TaskTreap.Node node : nodes) {
+            addedTasks.add(node.getTask());
+        }
+        return addedTasks;
+    }
+
+    /**
+     * Returns an iterator over the tasks of a frozen version of a collection, in the order they are shown.
+     * @param root the root of the frozen version.
+     * @return an iterator over the tasks.
+     */
+    static Iterator<Task> iterator(final TaskTreap.Node root) {
+        Iterator<TaskTreap.Node> nodes = TaskTreap.iterator(root);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                return nodes.next().getTask();
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the tasks in the order they are shown.
+     * @return an iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return iterator(this.tasks.getRoot());
+    }
+
+    private long key(final Task task, final int orderKey) {
+        //The priorities are declared from the highest to the lowest order.
+        long key = ((long) task.getPriority().ordinal() << ORDER_KEY_BITS) | orderKey;
+        return this.restoredLast && task.isRestored() ? key | RESTORED_KEY : key;
+    }
+}
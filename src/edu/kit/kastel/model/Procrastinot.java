@@ -1,76 +1,250 @@
 package edu.kit.kastel.model;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * The Procrastinot class represents an entity responsible for managing Tasks and taskLists.
  * It provides additional functionality and methods for managing tasks, such as task creation, deletion
  *    and organization.
+ * The instance can be shared by concurrent sessions: the task numbers are handed out atomically, every change of
+ *    the tasks and TaskLists is made by a method of the system holding the write lock, and the queries walking
+ *    the tasks hold the read lock. The lookup of a task by its id does not lock at all, it only takes the read lock
+ *    if a change was made while it read. The tasks and TaskLists returned by the system must therefore not be
+ *    changed directly, and task trees are printed through read.
+ * Every change creates a new version of the system and publishes its snapshot before the write lock is released.
+ *    Long queries read the snapshot instead, so they neither take a lock nor wait for a change. Only the states of
+ *    the tasks changed by a change are created, everything else is shared with the previous snapshot, so neither
+ *    the changes nor the queries copy all the tasks.
  * @author ucxug
  * @version 1.0
  */
 public class Procrastinot {
     /**
-     * The counter for te number of tasks added.
+     * The number of deleted tasks kept in the trash when no retention is given.
      */
-    private int taskAddedNumber;
+    private static final int UNLIMITED_RETENTION = Integer.MAX_VALUE;
     /**
-     * The list of Tasks managed by the application.
+     * The counter for te number of tasks added, it holds the next task number to be handed out.
      */
-    private final List<Task> tasks;
+    private final AtomicInteger taskAddedNumber;
+    /**
+     * The lock guarding the tasks, the TaskLists and the indexes of the system. It is not reentrant, so a query
+     *    using the other queries of the system or a change using a query does not take it again.
+     */
+    private final StampedLock lock;
+    /**
+     * Indicates whether the current thread holds the read lock.
+     */
+    private final ThreadLocal<Boolean> readLockHeld;
+    /**
+     * The thread holding the write lock, null if no thread holds it.
+     */
+    private Thread writer;
+    /**
+     * The number of the changes waiting for the write lock.
+     */
+    private final AtomicInteger waitingChanges;
+    /**
+     * The version of the system, it is increased by every change while the write lock is held.
+     */
+    private long version;
+    /**
+     * The snapshot of the latest version, it is published by every change.
+     */
+    private volatile TasksSnapshot snapshot;
+    /**
+     * The states of all the tasks, as they were when the latest snapshot was published.
+     */
+    private final TaskStateTable states;
+    /**
+     * The tasks whose state changed since the latest snapshot was published.
+     */
+    private final ChangedTasks changedTasks;
+    /**
+     * The Tasks managed by the application, sorted by their priority and the order they were added.
+     */
+    private final OrderedTasks tasks;
     /**
      * The list of TaskList managed by the application.
      */
     private final List<TaskList> taskLists;
+    /**
+     * The index of the tasks by their task number.
+     */
+    private final TaskIdIndex taskIndex;
+    /**
+     * The index of the tasks by their tags.
+     */
+    private final TagIndex tagIndex;
+    /**
+     * The dictionary of all the tags used by the tasks and TaskLists.
+     */
+    private final TagDictionary tagDictionary;
+    /**
+     * The index of the tasks by their deadline.
+     */
+    private final DeadlineIndex deadlineIndex;
+    /**
+     * The index of the tasks by the parts of their names.
+     */
+    private final NameIndex nameIndex;
+    /**
+     * The deleted tasks, which are kept apart from the other tasks until they are restored or purged.
+     */
+    private final TaskTrash trash;
+    /**
+     * The state of the tasks stored in columns, used for scans over all the tasks.
+     */
+    private final TaskColumns columns;
 
     /**
-     * Constructs a new Procrstinot instance.
-     * Initializes the taskAddedNumber to 1 and initializes the taskLists and Task list as empty linked lists.
+     * Constructs a new Procrstinot instance, which keeps all the deleted tasks until they are purged.
+     * Initializes the taskAddedNumber to 1 and initializes the taskLists and Task collection as empty.
      */
     public Procrastinot() {
-        this.taskAddedNumber = 1;
+        this(UNLIMITED_RETENTION);
+    }
+
+    /**
+     * Constructs a new Procrstinot instance with a retention for the deleted tasks.
+     * When more tasks are deleted than the retention allows, the tasks that were deleted first are purged.
+     * @param deletedTasksRetention the maximal number of deleted tasks that can still be restored.
+     */
+    public Procrastinot(final int deletedTasksRetention) {
+        this.taskAddedNumber = new AtomicInteger(1);
+        this.lock = new StampedLock();
+        this.readLockHeld = ThreadLocal.withInitial(() -> false);
+        this.waitingChanges = new AtomicInteger();
         this.taskLists = new LinkedList<>();
-        this.tasks = new LinkedList<>();
+        this.tasks = new OrderedTasks();
+        this.taskIndex = new TaskIdIndex();
+        this.tagDictionary = new TagDictionary();
+        this.tagIndex = new TagIndex(this.tagDictionary);
+        this.deadlineIndex = new DeadlineIndex();
+        this.nameIndex = new NameIndex();
+        this.trash = new TaskTrash(deletedTasksRetention);
+        this.columns = new TaskColumns();
+        this.states = new TaskStateTable();
+        this.changedTasks = new ChangedTasks();
+        this.snapshot = new TasksSnapshot(this.version, this.states.freeze(), this.tasks.freeze(),
+            this.trash.freeze(), new ArrayList<>());
     }
 
     /**
-     * Adds a new task.
+     * Hands out the next task number. Every number is handed out only once, also by concurrent sessions.
+     * @return the task number for a new task.
+     */
+    public int allocateTaskNumber() {
+        return this.taskAddedNumber.getAndIncrement();
+    }
+
+    /**
+     * Adds a new task. The task number of the task must have been handed out by allocateTaskNumber.
      * @param task the task to be added.
      */
     public void addTask(final Task task) {
-        this.tasks.add(task);
-        this.taskAddedNumber++;
+        change(() -> addToSystem(task));
     }
 
     /**
-     * Readds a task to the system.
-     * This happends when the task was a subtaks and its been removed from their main task.
-     * @param task the task to be readded.
+     * Hands out a block of consecutive task numbers at once, for example for a bulk import.
+     * @param count the number of task numbers to be handed out.
+     * @return the first task number of the block.
      */
-    public void readdTask(final Task task) {
-        this.tasks.remove(task);
-        this.tasks.add(task);
+    public int allocateTaskNumbers(final int count) {
+        return this.taskAddedNumber.getAndAdd(count);
+    }
+
+    /**
+     * Adds the tasks of the given batch at once, in the order of the batch, links each of them to its parent task,
+     *    tags them and adds them to the TaskLists of the batch. All of this is done while the system is locked once.
+     * The indexes keyed by the task number are grown only once for all the tasks, the tasks are loaded into the
+     *    ordered tasks of the system sorted at once, and their names and deadlines are indexed in one pass.
+     * @param batch the batch of the new tasks, their task numbers must have been handed out by allocateTaskNumbers.
+     */
+    public void addTasks(final TaskBatch batch) {
+        List<Task> newTasks = batch.getTasks();
+        int highestTaskNumber = 0;
+        for (Task task : newTasks) {
+            highestTaskNumber = Math.max(highestTaskNumber, task.getTaskNumber());
+        }
+        int capacity = highestTaskNumber;
+        change(() -> {
+            this.taskIndex.ensureCapacity(capacity);
+            this.columns.ensureCapacity(capacity);
+            addAllToSystem(newTasks);
+            for (int i = 0; i < newTasks.size(); i++) {
+                Task task = newTasks.get(i);
+                if (batch.getParentTask(i) != null) {
+                    batch.getParentTask(i).addSubTask(task);
+                }
+                //The tags of a new task are checked to be different, so the task is not tagged twice.
+                for (String tag : batch.getTags(i)) {
+                    task.addTag(tag);
+                }
+            }
+            for (TaskBatch.BatchList batchList : batch.getTaskLists()) {
+                TaskList taskList = getTaskList(batchList.getName());
+                if (taskList == null) {
+                    taskList = new TaskList(batchList.getName());
+                    this.taskLists.add(taskList);
+                    taskList.setTagDictionary(this.tagDictionary);
+                }
+                for (String tag : batchList.getTags()) {
+                    if (!taskList.containsTag(tag)) {
+                        taskList.addTag(tag);
+                    }
+                }
+                for (Task task : batchList.getTasks()) {
+                    taskList.addTask(task);
+                }
+            }
+        });
     }
 
     /**
-     * Returns the current task added number.
+     * Makes sure that the task numbers below the given one are not handed out anymore.
+     * This is used when tasks with known task numbers are added, for example when a snapshot is loaded.
+     * @param nextTaskNumber the lowest task number that can still be handed out.
+     */
+    public void reserveTaskNumbers(final int nextTaskNumber) {
+        this.taskAddedNumber.accumulateAndGet(nextTaskNumber, Math::max);
+    }
+
+    /**
+     * Returns the current task added number, which is the task number the next added task gets.
      * @return the current task added number.
      */
     public int getTaskAddedNumber() {
-        return this.taskAddedNumber;
+        return this.taskAddedNumber.get();
     }
 
 
     /**
-     * Adds the given TaskList to the System.
+     * Adds the given TaskList to the System, if the system does not contain a TaskList with the same name yet.
      * @param taskList the list to be added.
+     * @return true if the list was added, false if the name is already used.
      */
-    public void addList(final TaskList taskList) {
-        this.taskLists.add(taskList);
+    public boolean addList(final TaskList taskList) {
+        return changeAndGet(() -> {
+            if (getTaskList(taskList.getName()) != null) {
+                return false;
+            }
+            this.taskLists.add(taskList);
+            taskList.setTagDictionary(this.tagDictionary);
+            return true;
+        });
     }
 
     /**
@@ -79,33 +253,24 @@ public class Procrastinot {
      * @return the task if it matches the id and its not deleted, null otherwise.
      */
     public Task getTask(final int taskId) {
-        for (Task task : this.tasks) {
-            if (task.getTaskNumber() == taskId && !task.isDeleted()) {
+        //The lookup only reads the index and the deleted status, so it reads optimistically.
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Task task = findTask(taskId);
+            if (this.lock.validate(stamp)) {
                 return task;
             }
         }
-        return null;
+        return read(() -> findTask(taskId));
     }
 
     /**
-     * Adjust the list of task by removing the specified task and then reorganizing the tasks.
-     * The task is removed from the current list and then added back. The method also adjust the
-     * lists of tasks within task list and re-sorts the tasks.
-     * @param task
+     * Adjust the collections of tasks by moving the specified task to the end of its priority.
+     * The method also adjust the TaskLists and the parent task containing the task.
+     * @param task the task to be adjusted.
      */
     public void addjustList(Task task) {
-        this.tasks.remove(task);
-        //Checks the TaskLists.
-
-        for (TaskList taskList : this.taskLists) {
-            taskList.adjustList(task);
-        }
-        //Checks the tasks.
-        for (Task procrastinotTask : this.tasks) {
-            procrastinotTask.addjustList(task);
-        }
-        this.tasks.add(task);
-        sort();
+        change(() -> moveToEnd(task));
     }
 
 
@@ -115,12 +280,7 @@ public class Procrastinot {
      * @return true if a list name matches the given name,  false otherwise.
      */
     public boolean containsTaskList(String listName) {
-        for (TaskList taskList : this.taskLists) {
-            if (taskList.getName().equals(listName)) {
-                return true;
-            }
-        }
-        return false;
+        return getTaskList(listName) != null;
     }
 
     /**
@@ -130,12 +290,80 @@ public class Procrastinot {
      * @return the task if it matches the id and if it is deleted, null otherwise.
      */
     public Task getDeletedTask(final int taskId) {
-        for (Task task : this.tasks) {
-            if (task.getTaskNumber() == taskId && task.isDeleted()) {
-                return task;
+        return read(() -> this.trash.get(taskId));
+    }
+
+    /**
+     * Moves a task of the system to the trash without deleting its subtasks.
+     * This is used to load a task that was deleted before, its subtasks are loaded on their own.
+     * @param task the task to be moved to the trash.
+     */
+    public void addDeletedTask(final Task task) {
+        change(() -> {
+            task.setDeleted(true);
+            this.tasks.remove(task);
+            this.deadlineIndex.remove(task);
+            this.trash.add(task);
+        });
+    }
+
+    /**
+     * Deletes a task and all its subtasks. The deleted tasks are moved to the trash, where they can be restored.
+     * @param task the task to be deleted.
+     * @return the number of subtasks that had been deleted.
+     */
+    public int deleteTask(final Task task) {
+        return changeAndGet(() -> {
+            int deletedSubTasks = task.deleteTask();
+            moveToTrash(task);
+            //The tasks deleted first are purged, if the trash contains more tasks than the retention allows.
+            while (this.trash.isOverfull()) {
+                purgeTask(this.trash.getOldest());
             }
-        }
-        return null;
+            return deletedSubTasks;
+        });
+    }
+
+    /**
+     * Restores a deleted task and its deleted subtasks, the tasks are taken from the trash and added at the end
+     *    of their priority. If the parent task of the task is still deleted, the task is no longer its subtask
+     *    and is added to the TaskLists of its parent tasks instead.
+     * @param task the task to be restored.
+     * @return the number of subtasks that had been restored.
+     */
+    public int restoreTask(final Task task) {
+        return changeAndGet(() -> {
+            Task parentTask = task.getParentTask();
+            if (parentTask != null && parentTask.isDeleted()) {
+                for (TaskList taskList : getParentList(task)) {
+                    taskList.addTask(task);
+                }
+                parentTask.deleteSubTask(task);
+            }
+            return restoreRecursively(task);
+        });
+    }
+
+    /**
+     * Purges all the deleted tasks, they can not be restored anymore.
+     * @return the number of tasks that had been purged.
+     */
+    public int purgeDeletedTasks() {
+        return changeAndGet(() -> {
+            int purgedTasks = 0;
+            for (Task task = this.trash.getOldest(); task != null; task = this.trash.getOldest()) {
+                purgedTasks += purgeTask(task);
+            }
+            return purgedTasks;
+        });
+    }
+
+    /**
+     * Returns all the TaskLists of the system, in the order they were added.
+     * @return a new list of the TaskLists.
+     */
+    public List<TaskList> getTaskLists() {
+        return read(() -> new LinkedList<>(this.taskLists));
     }
 
     /**
@@ -144,99 +372,208 @@ public class Procrastinot {
      * @return true if the taskList name matches the given name.
      */
     public TaskList getTaskList(final String listName) {
-        for (TaskList taskList : this.taskLists) {
-            if (listName.equals(taskList.getName())) {
-                return taskList;
+        return read(() -> {
+            for (TaskList taskList : this.taskLists) {
+                if (listName.equals(taskList.getName())) {
+                    return taskList;
+                }
             }
-        }
-        return null;
+            return null;
+        });
+    }
+
+    /**
+     * Changes the priority of a task. The task keeps its position among the tasks of the new priority.
+     * @param task the task to be changed.
+     * @param priority the new priority of the task.
+     */
+    public void changePriority(final Task task, final Priority priority) {
+        change(() -> task.setPriority(priority));
+    }
+
+    /**
+     * Changes the deadline of a task.
+     * @param task the task to be changed.
+     * @param deadline the new deadline of the task, null if the task has none.
+     */
+    public void changeDeadline(final Task task, final LocalDate deadline) {
+        change(() -> task.setDeadLine(deadline));
+    }
+
+    /**
+     * Toggles the done status of a task. All the tasks below its not deleted subtasks get the new status as well.
+     * @param task the task to be toggled.
+     * @return the number of not deleted tasks below the task.
+     */
+    public int toggleTask(final Task task) {
+        return changeAndGet(() -> {
+            task.setDone(!task.isDone());
+            for (Task subTask : task.getSubTasksView()) {
+                if (!subTask.isDeleted()) {
+                    setDoneRecursively(subTask, task.isDone());
+                }
+            }
+            return this.columns.countSubTasks(task.getTaskNumber());
+        });
+    }
+
+    /**
+     * Tags a task with the given tag, if it is not tagged with it yet.
+     * @param task the task to be tagged.
+     * @param tag the tag.
+     * @return true if the task was tagged, false if it was already tagged with the tag.
+     */
+    public boolean tagTask(final Task task, final String tag) {
+        return changeAndGet(() -> {
+            if (task.hasTag(tag)) {
+                return false;
+            }
+            task.addTag(tag);
+            return true;
+        });
+    }
+
+    /**
+     * Tags a TaskList of the system with the given tag, if it is not tagged with it yet.
+     * @param taskList the TaskList to be tagged.
+     * @param tag the tag.
+     * @return true if the TaskList was tagged, false if it was already tagged with the tag.
+     */
+    public boolean tagList(final TaskList taskList, final String tag) {
+        return changeAndGet(() -> {
+            if (taskList.containsTag(tag)) {
+                return false;
+            }
+            taskList.addTag(tag);
+            return true;
+        });
+    }
+
+    /**
+     * Adds a task to a TaskList of the system, if the TaskList does not contain it or one of its parent tasks yet.
+     * @param taskList the TaskList the task is added to.
+     * @param task the task to be added.
+     * @return true if the task was added, false if the TaskList already contains it.
+     */
+    public boolean assignToList(final TaskList taskList, final Task task) {
+        return changeAndGet(() -> {
+            if (taskList.containsTask(task)) {
+                return false;
+            }
+            taskList.addTask(task);
+            return true;
+        });
+    }
+
+    /**
+     * Adds a task to a TaskList of the system, even if the TaskList contains one of its parent tasks.
+     *    If the task was already added, it is moved to the end of its priority.
+     * This is used to load the TaskLists as they were stored.
+     * @param taskList the TaskList the task is added to.
+     * @param task the task to be added.
+     */
+    public void addToList(final TaskList taskList, final Task task) {
+        change(() -> taskList.addTask(task));
     }
 
     /**
      * Adds a subtask to a given task. If the task to be added as subtaks is alredy subtask from another task
      *    it will be removed.
+     * The subtask is not added if it already is a subtask of the parent task, or if the parent task is the subtask
+     *    itself or a task below it, since the tasks would form a cycle.
      * @param parentTask    the parent task.
      * @param subTask the subtask to be added to the task.
+     * @return true if the subtask was added, false otherwise.
      */
-    public void addSubTask(final Task parentTask, final Task subTask) {
-        for (Task task : this.tasks) {
-            if (task.getSubTasks().contains(subTask)) {
-                task.deleteSubTask(subTask);
+    public boolean addSubTask(final Task parentTask, final Task subTask) {
+        return changeAndGet(() -> {
+            if (subTask.getParentTask() == parentTask || isBelow(parentTask, subTask)) {
+                return false;
             }
-        }
-        parentTask.addSubTask(subTask);
-        adjustTasks(subTask);
+            if (subTask.getParentTask() != null) {
+                subTask.getParentTask().deleteSubTask(subTask);
+            }
+            parentTask.addSubTask(subTask);
+            adjustTasks(subTask);
+            return true;
+        });
     }
 
     /**
      * Returns a list of tasks tagged with the given tag.
+     * A task is tagged if it is tagged itself or if it was directly added to a TaskList tagged with the tag.
      * @param tag the tag to be checked.
      * @return a new list of tasks tagged with the given tag.
      */
     public List<Task> getTaggedTask(final String tag) {
-        List<Task> uniqueTaggedTasks = new LinkedList<>();
-        for (Task task : this.tasks) {
-            if (task.getTags().contains(tag) || task.getTaskListTags().contains(tag)) {
-                uniqueTaggedTasks.add(task);
+        return read(() -> {
+            int tagId = this.tagDictionary.getId(tag);
+            if (tagId == TagDictionary.UNKNOWN_TAG) {
+                return new LinkedList<>();
             }
-        }
-        uniqueTaggedTasks.sort(Task::compareTo);
-        sortTaggedTask(uniqueTaggedTasks, tag);
-        return new LinkedList<>(uniqueTaggedTasks);
-    }
-
-    private void sortTaggedTask(List<Task> taggedTasks, String tag) {
-        taggedTasks.sort((task1, task2) -> {
-            if (task1.getPriority() != task2.getPriority()) {
-                return Integer.compare(task2.getPriority().getPriorityOrder(),
-                    task1.getPriority().getPriorityOrder());
-            } else if (Integer.compare(task1.getTags().indexOf(tag), task2.getTags().indexOf(tag)) != 0) {
-                return Integer.compare(task1.getTags().indexOf(tag), task2.getTags().indexOf(tag));
+            List<TaskList> taggedLists = new LinkedList<>();
+            for (TaskList taskList : this.taskLists) {
+                if (taskList.hasTagId(tagId)) {
+                    taggedLists.add(taskList);
+                }
             }
-            return Integer.compare(task1.getTaskNumber(), task2.getTaskNumber());
+            return this.tagIndex.getTaggedTasks(tagId, taggedLists);
         });
     }
 
     /**
-     * Sets all the tasks to unprinted.
+     * Returns all the task in the Procrastinot System.
+     * @return a list of task in the taskAministrator object.
      */
-    public void setUnprinted() {
-        for (Task task : this.tasks) {
-            task.setUnprinted();
-        }
+    public List<Task> getTasks() {
+        return read(this.tasks::toList);
     }
 
     /**
-     * Returns all the task in the Procrastinot System.
-     * @return a list of task in the taskAministrator object.
+     * Returns a snapshot of the current version of the system. The snapshot is published by the change that
+     *    created the version, so it is returned without taking any lock.
+     * @return the snapshot of the current version.
      */
-    public List<Task> getTasks() {
-        this.tasks.sort(Task::compareTo);
-        return new LinkedList<>(this.tasks);
+    public TasksSnapshot getSnapshot() {
+        return this.snapshot;
     }
 
     /**
-     * Retrieves a list of tasks id representing duplicates task based on name and dead line.
-     * Duplicates task are those that have the same and of the dealines is null or the dead lines are equal.
-     * @return A sorted list of task numbers representing duplicates task id.
+     * Retrieves the ids of the duplicates tasks based on name and dead line.
+     * Duplicates task are those that have the same name and one of the deadlines is null or the dead lines are equal.
+     * The tasks are grouped by their name, so that every task is only visited twice. The tasks are read from the
+     *    columns, so the task objects are not visited.
+     * @return A sorted array of task numbers representing the duplicates tasks.
      */
-    public List<Integer> getDuplicates() {
-        Set<Integer> duplicateIndices = new HashSet<>();
-        for (Task taskOne : this.tasks) {
-            for (Task taskTwo : this.tasks) {
-                if (taskTwo != taskOne && !taskOne.isDeleted() && !taskTwo.isDeleted()) {
-                    boolean equalsName = taskOne.getName().equals(taskTwo.getName());
-                    boolean equalsDate = taskOne.getDeadline() ==  null || taskTwo.getDeadline() == null;
-                    if ((equalsDate || taskOne.getDeadline().isEqual(taskTwo.getDeadline()))  && equalsName) {
-                        duplicateIndices.add(taskOne.getTaskNumber() - 1);
-                        duplicateIndices.add(taskTwo.getTaskNumber() - 1);
-                    }
+    public int[] getDuplicates() {
+        return read(() -> {
+            Map<String, NameGroup> groups = new HashMap<>();
+            for (int taskId = this.columns.nextActiveTask(1); taskId >= 0;
+                 taskId = this.columns.nextActiveTask(taskId + 1)) {
+                groups.computeIfAbsent(this.columns.getName(taskId), name -> new NameGroup())
+                    .add(this.columns.getDeadlineDay(taskId));
+            }
+            int[] duplicates = new int[this.taskAddedNumber.get()];
+            int duplicatesCount = 0;
+            for (int taskId = this.columns.nextActiveTask(1); taskId >= 0;
+                 taskId = this.columns.nextActiveTask(taskId + 1)) {
+                if (groups.get(this.columns.getName(taskId)).isDuplicate(this.columns.getDeadlineDay(taskId))) {
+                    duplicates[duplicatesCount] = taskId;
+                    duplicatesCount++;
                 }
             }
-        }
-        List<Integer> duplicates = new LinkedList<>(duplicateIndices);
-        Collections.sort(duplicates);
-        return duplicates;
+            return Arrays.copyOf(duplicates, duplicatesCount);
+        });
+    }
+
+    /**
+     * Counts the not deleted tasks below the given task, in any level.
+     * The subtasks of a deleted subtask are not counted.
+     * @param task the task whose subtasks are counted.
+     * @return the number of not deleted tasks below the task.
+     */
+    public int countSubTasks(final Task task) {
+        return read(() -> this.columns.countSubTasks(task.getTaskNumber()));
     }
 
     /**
@@ -245,13 +582,100 @@ public class Procrastinot {
      * @return A list of task list containing the specified task.
      */
     public List<TaskList> getParentList(Task task) {
-        List<TaskList> taskParents = new LinkedList<>();
-        for (TaskList taskList : this.taskLists) {
-            if (taskList.containsTask(task)) {
-                taskParents.add(taskList);
+        return read(() -> {
+            Set<TaskList> taskParents = new LinkedHashSet<>();
+            for (Task currentTask = task; currentTask != null; currentTask = currentTask.getParentTask()) {
+                taskParents.addAll(currentTask.getTaskLists());
             }
-        }
-        return taskParents;
+            return new LinkedList<>(taskParents);
+        });
+    }
+
+    /**
+     * Retrieves the not deleted tasks whose name or the name of one of their parent tasks contains the given string
+     *    sequence. The deleted parent tasks are checked as well.
+     * The tasks are sorted by their priority and then by the order they were added to the system.
+     * @param namePart the string to be searched.
+     * @return the sorted states of the found tasks, taken from the snapshot of the current version.
+     */
+    public TaskSelection findTasks(final String namePart) {
+        return read(() -> {
+            List<Task> foundTasks = new ArrayList<>();
+            VisitedTasks visitedTasks = new VisitedTasks();
+            //Only the names of the matching tasks are looked up, the tasks below them are found through the tree.
+            for (Task task : this.nameIndex.find(namePart)) {
+                addWithSubTasks(task, foundTasks, visitedTasks);
+            }
+            foundTasks.removeIf(Task::isDeleted);
+            foundTasks.sort(this.tasks::compare);
+            //The snapshot is taken while the read lock is held, so it is the version the tasks were found in.
+            TasksSnapshot currentSnapshot = getSnapshot();
+            List<TaskState> foundStates = new ArrayList<>(foundTasks.size());
+            for (Task task : foundTasks) {
+                foundStates.add(currentSnapshot.getState(task.getTaskNumber()));
+            }
+            return new TaskSelection(currentSnapshot, foundStates);
+        });
+    }
+
+    /**
+     * Retrieves the not deleted tasks whose deadline is within the given range. Both limits are inclusive.
+     * The tasks are sorted by their priority and then by the order they were added to the system.
+     * @param startDate the first day of the range, null if the range has no lower limit.
+     * @param endDate the last day of the range.
+     * @param withoutDeadline decides if the tasks without a deadline are also retrieved.
+     * @return a new sorted list of the tasks within the range.
+     */
+    public List<Task> getTasksByDeadline(final LocalDate startDate, final LocalDate endDate,
+                                         boolean withoutDeadline) {
+        return read(() -> {
+            List<Task> rangeTasks = this.deadlineIndex.getTasksBetween(startDate, endDate);
+            if (withoutDeadline) {
+                rangeTasks.addAll(this.deadlineIndex.getTasksWithoutDeadline());
+            }
+            //The deleted tasks are kept in the trash, so the index does not contain them.
+            rangeTasks.sort(this.tasks::compare);
+            return rangeTasks;
+        });
+    }
+
+    /**
+     * Retrieves the not deleted tasks whose deadline is within the given range or who have no deadline,
+     *    together with all their parent tasks and the subtasks of the tasks within the range.
+     *    Both limits are inclusive.
+     * The tasks are sorted by their priority and then by the order they were added to the system.
+     * @param startDate the first day of the range.
+     * @param endDate the last day of the range.
+     * @return a new sorted list of the tasks within the range, their parent tasks and their subtasks.
+     */
+    public List<Task> getTaskTreesByDeadline(final LocalDate startDate, final LocalDate endDate) {
+        return read(() -> {
+            Set<Task> treeTasks = new LinkedHashSet<>();
+            for (Task task : getTasksByDeadline(startDate, endDate, true)) {
+                Task currentTask = task;
+                //The parent tasks are only added once.
+                while (currentTask != null && treeTasks.add(currentTask)) {
+                    currentTask = currentTask.getParentTask();
+                }
+            }
+            addSubTasks(this.deadlineIndex.getTasksBetween(startDate, endDate), treeTasks);
+            return sortTasks(treeTasks);
+        });
+    }
+
+    /**
+     * Retrieves the not deleted tasks whose deadline is until the given day, together with the subtasks of the tasks
+     *    whose deadline is after the day. The day itself is included.
+     * The tasks are sorted by their priority and then by the order they were added to the system.
+     * @param endDate the last day.
+     * @return a new sorted list of the tasks until the day and the subtasks of the later tasks.
+     */
+    public List<Task> getTaskTreesUntil(final LocalDate endDate) {
+        return read(() -> {
+            Set<Task> treeTasks = new LinkedHashSet<>(this.deadlineIndex.getTasksBetween(null, endDate));
+            addSubTasks(this.deadlineIndex.getTasksBetween(endDate.plusDays(1), null), treeTasks);
+            return sortTasks(treeTasks);
+        });
     }
 
     /**
@@ -259,23 +683,284 @@ public class Procrastinot {
      * @return A sorted list of tod0 tasks.
      */
     public List<Task> getTodoTask() {
-        sort();
-        return new LinkedList<>(this.tasks);
+        return read(this.tasks::toList);
+    }
+
+    /**
+     * Runs a query while holding the read lock, so the system is not changed while the query reads it.
+     * The queries printing task trees run through this method, since they read the tasks and their subtasks
+     *    after the lookup of the system returned. The other queries do not block the query. A query run by a query
+     *    or by a change does not take the lock again.
+     * @param query the query to be run, it must not change the system.
+     * @param <T> the type of the result of the query.
+     * @return the result of the query.
+     */
+    public <T> T read(final Supplier<T> query) {
+        if (this.readLockHeld.get() || this.writer == Thread.currentThread()) {
+            return query.get();
+        }
+        long stamp;
+        if (this.waitingChanges.get() == 0) {
+            stamp = this.lock.readLock();
+        } else {
+            //The read lock lets new queries overtake a waiting change, so the query queues for the write lock
+            //behind the change and then converts it into a read lock.
+            stamp = this.lock.tryConvertToReadLock(this.lock.writeLock());
+        }
+        this.readLockHeld.set(true);
+        try {
+            return query.get();
+        } finally {
+            this.readLockHeld.set(false);
+            this.lock.unlockRead(stamp);
+        }
+    }
 
+    /**
+     * Makes a change while holding the write lock, the change creates a new version of the system.
+     * @param change the change to be made.
+     */
+    private void change(final Runnable change) {
+        changeAndGet(() -> {
+            change.run();
+            return null;
+        });
     }
-    private void adjustTasks(Task task) {
+
+    private <T> T changeAndGet(final Supplier<T> change) {
+        if (this.writer == Thread.currentThread()) {
+            return change.get();
+        }
+        this.waitingChanges.incrementAndGet();
+        long stamp = this.lock.writeLock();
+        this.waitingChanges.decrementAndGet();
+        this.writer = Thread.currentThread();
+        try {
+            this.version++;
+            return change.get();
+        } finally {
+            //The snapshot is published before the lock is released, so no query waits for it.
+            publish();
+            this.writer = null;
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private Task findTask(final int taskId) {
+        Task task = this.taskIndex.get(taskId);
+        return task != null && !task.isDeleted() ? task : null;
+    }
+
+    private void addToSystem(final Task task) {
+        this.tasks.add(task);
+        task.setSystemTasks(this.tasks);
+        this.taskIndex.add(task);
+        task.setTagIndex(this.tagIndex);
+        this.deadlineIndex.add(task);
+        task.setDeadlineIndex(this.deadlineIndex);
+        this.nameIndex.add(task);
+        this.columns.add(task);
+        task.setColumns(this.columns);
+        task.setChangedTasks(this.changedTasks);
+        this.changedTasks.add(task);
+    }
+
+    private void addAllToSystem(final List<Task> newTasks) {
+        //The collection and the indexes sorted or keyed by a value of the tasks load all the tasks at once.
+        this.tasks.addAll(newTasks);
+        this.deadlineIndex.addAll(newTasks);
+        this.nameIndex.addAll(newTasks);
+        for (Task task : newTasks) {
+            task.setSystemTasks(this.tasks);
+            this.taskIndex.add(task);
+            task.setTagIndex(this.tagIndex);
+            task.setDeadlineIndex(this.deadlineIndex);
+            this.columns.add(task);
+            task.setColumns(this.columns);
+            task.setChangedTasks(this.changedTasks);
+            this.changedTasks.add(task);
+        }
+    }
+
+    private void publish() {
+        for (Task task : this.changedTasks.getTasks()) {
+            //A purged task is no longer in the index, so its state is removed.
+            this.states.put(task.getTaskNumber(),
+                this.taskIndex.get(task.getTaskNumber()) == task ? task.createState() : null);
+        }
+        this.changedTasks.clear();
+        //The TaskLists are few, every TaskList keeps its state until it changes.
+        List<TaskListState> listStates = new ArrayList<>(this.taskLists.size());
         for (TaskList taskList : this.taskLists) {
+            listStates.add(taskList.getState());
+        }
+        this.snapshot = new TasksSnapshot(this.version, this.states.freeze(), this.tasks.freeze(),
+            this.trash.freeze(), listStates);
+    }
+
+    private void moveToEnd(final Task task) {
+        this.tasks.moveToEnd(task);
+        //Checks the TaskLists.
+        for (TaskList taskList : task.getTaskLists()) {
+            taskList.adjustList(task);
+        }
+        //Checks the parent task.
+        if (task.getParentTask() != null) {
+            task.getParentTask().addjustList(task);
+        }
+    }
+
+    private void moveToTrash(final Task task) {
+        if (this.trash.contains(task)) {
+            //The subtasks of a task in the trash were deleted before.
+            return;
+        }
+        this.tasks.remove(task);
+        this.deadlineIndex.remove(task);
+        this.trash.add(task);
+        for (Task subTask : task.getSubTasksView()) {
+            if (subTask.isDeleted()) {
+                moveToTrash(subTask);
+            }
+        }
+    }
+
+    private int purgeTask(final Task task) {
+        int purgedTasks = 1;
+        for (Task subTask : task.getSubTasks()) {
+            if (subTask.isDeleted()) {
+                purgedTasks += purgeTask(subTask);
+            } else {
+                task.deleteSubTask(subTask);
+            }
+        }
+        if (task.getParentTask() != null) {
+            task.getParentTask().deleteSubTask(task);
+        }
+        for (TaskList taskList : task.getTaskLists()) {
+            taskList.removeTask(task);
+        }
+        this.trash.remove(task);
+        this.taskIndex.remove(task);
+        this.tagIndex.remove(task);
+        this.nameIndex.remove(task);
+        this.columns.remove(task.getTaskNumber());
+        this.changedTasks.add(task);
+        return purgedTasks;
+    }
+
+    private int restoreRecursively(final Task task) {
+        task.setDeleted(false);
+        //The restored task is shown after the subtasks of its parent task that were never deleted.
+        task.setRestored();
+        this.trash.remove(task);
+        this.deadlineIndex.add(task);
+        this.tasks.add(task);
+        moveToEnd(task);
+        int restoredSubTasks = 0;
+        //The subtasks are copied, since restoring them changes their order.
+        for (Task subTask : task.getSubTasks()) {
+            if (subTask.isDeleted()) {
+                restoredSubTasks += restoreRecursively(subTask) + 1;
+            }
+        }
+        return restoredSubTasks;
+    }
+
+    private void addWithSubTasks(final Task task, final List<Task> foundTasks, final VisitedTasks visitedTasks) {
+        if (visitedTasks.isVisited(task)) {
+            //The task and the tasks below it were already found through another task.
+            return;
+        }
+        visitedTasks.visit(task);
+        foundTasks.add(task);
+        for (Task subTask : task.getSubTasksView()) {
+            addWithSubTasks(subTask, foundTasks, visitedTasks);
+        }
+    }
+
+    private void addSubTasks(final List<Task> parentTasks, final Set<Task> treeTasks) {
+        for (Task parentTask : parentTasks) {
+            for (Task subTask : parentTask.getSubTasksView()) {
+                treeTasks.add(subTask);
+            }
+        }
+    }
+
+    private List<Task> sortTasks(final Set<Task> treeTasks) {
+        List<Task> sortedTasks = new ArrayList<>(treeTasks);
+        //The deleted tasks are kept in the trash, so they are not ordered with the other tasks.
+        sortedTasks.removeIf(Task::isDeleted);
+        sortedTasks.sort(this.tasks::compare);
+        return sortedTasks;
+    }
+
+    private void setDoneRecursively(final Task task, final boolean done) {
+        task.setDone(done);
+        for (Task subTask : task.getSubTasksView()) {
+            setDoneRecursively(subTask, done);
+        }
+    }
+
+    private boolean isBelow(final Task task, final Task ancestorTask) {
+        //The task itself counts as below, the hierarchy is walked up from the task.
+        for (Task currentTask = task; currentTask != null; currentTask = currentTask.getParentTask()) {
+            if (currentTask == ancestorTask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void adjustTasks(Task task) {
+        //Only the TaskLists the task was directly added to need to be adjusted.
+        for (TaskList taskList : task.getTaskLists()) {
             taskList.adjust(task);
         }
     }
 
-    private void sort() {
-        this.tasks.sort((task1, task2) -> {
-            if (task1.getPriority() != task2.getPriority()) {
-                return Integer.compare(task2.getPriority().getPriorityOrder(),
-                    task1.getPriority().getPriorityOrder());
+    /**
+     * Represents the tasks sharing the same name, with the deadlines of the tasks that have one.
+     * The deadlines are kept as plain epoch days and are sorted once when the group is first queried,
+     *    so equal deadlines are next to each other.
+     */
+    private static final class NameGroup {
+        private static final int INITIAL_CAPACITY = 2;
+        private int[] deadlineDays = new int[INITIAL_CAPACITY];
+        private int deadlineCount;
+        private int taskCount;
+        private int noDeadlineCount;
+        private boolean sorted;
+
+        void add(final int deadlineDay) {
+            this.taskCount++;
+            if (deadlineDay == TaskColumns.NO_DEADLINE) {
+                this.noDeadlineCount++;
+                return;
             }
-            return 0;
-        });
+            if (this.deadlineCount == this.deadlineDays.length) {
+                this.deadlineDays = Arrays.copyOf(this.deadlineDays, this.deadlineCount * 2);
+            }
+            this.deadlineDays[this.deadlineCount] = deadlineDay;
+            this.deadlineCount++;
+        }
+
+        boolean isDuplicate(final int deadlineDay) {
+            if (deadlineDay == TaskColumns.NO_DEADLINE) {
+                //A task without deadline matches every other task with the same name.
+                return this.taskCount > 1;
+            }
+            if (this.noDeadlineCount > 0) {
+                return true;
+            }
+            if (!this.sorted) {
+                Arrays.sort(this.deadlineDays, 0, this.deadlineCount);
+                this.sorted = true;
+            }
+            //The deadline of the task itself is found, another task has the same one if it is next to it.
+            int index = Arrays.binarySearch(this.deadlineDays, 0, this.deadlineCount, deadlineDay);
+            return index > 0 && this.deadlineDays[index - 1] == deadlineDay
+                || index + 1 < this.deadlineCount && this.deadlineDays[index + 1] == deadlineDay;
+        }
     }
 }
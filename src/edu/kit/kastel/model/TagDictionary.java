@@ -0,0 +1,68 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a dictionary of all the tags used in the system.
+ * Every tag is stored only once and gets an id, so that the tasks only need to keep the ids of their tags.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TagDictionary {
+    /**
+     * The id returned for a tag that is not in the dictionary.
+     */
+    public static final int UNKNOWN_TAG = -1;
+    /**
+     * The id of each tag.
+     */
+    private final Map<String, Integer> tagIds;
+    /**
+     * The tags, the position in the list is the id of the tag.
+     */
+    private final List<String> tags;
+
+    /**
+     * Constructs a new empty TagDictionary.
+     */
+    public TagDictionary() {
+        this.tagIds = new HashMap<>();
+        this.tags = new ArrayList<>();
+    }
+
+    /**
+     * Returns the id of the given tag. If the tag is not in the dictionary yet, it is added.
+     * @param tag the tag to be checked.
+     * @return the id of the tag.
+     */
+    public int intern(final String tag) {
+        Integer tagId = this.tagIds.get(tag);
+        if (tagId == null) {
+            tagId = this.tags.size();
+            this.tagIds.put(tag, tagId);
+            this.tags.add(tag);
+        }
+        return tagId;
+    }
+
+    /**
+     * Returns the id of the given tag, without adding it to the dictionary.
+     * @param tag the tag to be checked.
+     * @return the id of the tag, UNKNOWN_TAG if the tag is not in the dictionary.
+     */
+    public int getId(final String tag) {
+        return this.tagIds.getOrDefault(tag, UNKNOWN_TAG);
+    }
+
+    /**
+     * Returns the tag with the given id.
+     * @param tagId the id of the tag.
+     * @return the tag matching the id.
+     */
+    public String getTag(final int tagId) {
+        return this.tags.get(tagId);
+    }
+}
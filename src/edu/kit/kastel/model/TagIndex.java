@@ -0,0 +1,123 @@
+package edu.kit.kastel.model;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Represents an inverted index from a tag to the tasks tagged with it.
+ * For each tag the tasks are kept ordered by the position of the tag within the task tags and by the task number,
+ *    so that the tagged tasks only need to be grouped by their priority when they are requested.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TagIndex {
+    /**
+     * The position used for the tasks that are only tagged through a TaskList.
+     */
+    private static final int LIST_TAG_POSITION = -1;
+    /**
+     * The dictionary of the tags.
+     */
+    private final TagDictionary dictionary;
+    /**
+     * The tasks tagged with each tag, keyed by the id of the tag.
+     */
+    private final Map<Integer, NavigableSet<TaggedTask>> taggedTasks;
+
+    /**
+     * Constructs a new empty TagIndex.
+     * @param dictionary the dictionary of the tags.
+     */
+    public TagIndex(final TagDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.taggedTasks = new HashMap<>();
+    }
+
+    /**
+     * Adds a task to the index for the given tag.
+     * @param tagId the id of the tag the task is tagged with.
+     * @param task the tagged task.
+     * @param tagPosition the position of the tag within the task tags.
+     */
+    public void addTag(final int tagId, final Task task, final int tagPosition) {
+        this.taggedTasks.computeIfAbsent(tagId, key -> new TreeSet<>()).add(new TaggedTask(tagPosition, task));
+    }
+
+    /**
+     * Removes a task from the index for all its tags.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        int[] tagIds = task.getTagIds();
+        for (int tagPosition = 0; tagPosition < tagIds.length; tagPosition++) {
+            NavigableSet<TaggedTask> tasks = this.taggedTasks.get(tagIds[tagPosition]);
+            tasks.remove(new TaggedTask(tagPosition, task));
+            if (tasks.isEmpty()) {
+                this.taggedTasks.remove(tagIds[tagPosition]);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks tagged with the given tag, either by themselves or through one of the given TaskLists.
+     * The tasks are sorted by their priority, then by the position of the tag and then by the task number.
+     * The tasks tagged through a TaskList come before the tasks tagged by themselves.
+     * @param tagId the id of the tag to be checked.
+     * @param taggedLists the TaskLists tagged with the tag.
+     * @return a new list of the tasks tagged with the given tag.
+     */
+    public List<Task> getTaggedTasks(final int tagId, final List<TaskList> taggedLists) {
+        NavigableSet<TaggedTask> tasks = new TreeSet<>(this.taggedTasks.getOrDefault(tagId, new TreeSet<>()));
+        for (TaskList taskList : taggedLists) {
+            for (Task task : taskList.getTasksView()) {
+                //A tag of the task itself replaces a tag that came from a list.
+                if (!task.hasTagId(tagId)) {
+                    tasks.add(new TaggedTask(LIST_TAG_POSITION, task));
+                }
+            }
+        }
+        List<Task> result = new LinkedList<>();
+        //The priorities are declared from the highest to the lowest order.
+        for (Priority priority : Priority.values()) {
+            for (TaggedTask taggedTask : tasks) {
+                if (taggedTask.task.getPriority() == priority) {
+                    result.add(taggedTask.task);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the dictionary of the tags.
+     * @return the dictionary of the tags.
+     */
+    TagDictionary getDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Represents a task together with the position of a tag within the task tags.
+     */
+    private static final class TaggedTask implements Comparable<TaggedTask> {
+        private final int tagPosition;
+        private final Task task;
+
+        TaggedTask(final int tagPosition, final Task task) {
+            this.tagPosition = tagPosition;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(final TaggedTask o) {
+            if (this.tagPosition != o.tagPosition) {
+                return Integer.compare(this.tagPosition, o.tagPosition);
+            }
+            return Integer.compare(this.task.getTaskNumber(), o.task.getTaskNumber());
+        }
+    }
+}
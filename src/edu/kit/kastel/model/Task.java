@@ -1,28 +1,23 @@
 package edu.kit.kastel.model;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.StringJoiner;
 
 /**
  * Represents a task that can have subtasks, priorities, and tags.
- * A task can be compared and sorted based on their priorities, task numbers and added orders.
- * This class implements  the {@link Comparable} interface, allowing task to be compared.
+ * The subtasks of a task are kept sorted based on their priorities and the order they were added.
+ * Once a task was added to a Procrastinot system, it is only changed through the system, which guards the changes.
  * @author ucxug
  * @version 1.0
  */
-public class Task implements Comparable<Task> {
-
-    private static final String TASK_REPRESENTATION_FORMAT = "- [%s] %s";
-    private static final String PRIORITY_REPRESENTATION_FORMAT = " [%s]";
-    private static final String TAG_REPRESENTATION_FORMAT = " (%s)";
-    private static final String DATE_REPRESENTATION_FORMAT = " --> %s";
-    private static final String TOGGLE_CHAR_FORMAT = "x";
-    private static final String DATE_TAG_SEPARATOR = ":";
-    private static final String TAG_SEPARATOR = ", ";
-    private static final String DELIMITER = " ";
+public class Task {
+    /**
+     * The epoch day of a task without a deadline.
+     */
+    public static final long NO_DEADLINE = Long.MIN_VALUE;
     /**
      * Represents the priority of the task.
      */
@@ -32,9 +27,9 @@ public class Task implements Comparable<Task> {
      */
     private boolean done;
     /**
-     * The deadline of the task.
+     * The deadline of the task as epoch day, NO_DEADLINE if the task has none.
      */
-    private LocalDate deadline;
+    private long deadlineDay;
     /**
      * The task I/dnumber.
      */
@@ -48,29 +43,66 @@ public class Task implements Comparable<Task> {
      */
     private boolean deleted;
     /**
-     * The tags, tagging the task.
+     * Indicates whether the task was restored after it was deleted, a restored subtask is shown after the subtasks
+     *    that were never deleted.
      */
-    private final List<String> tags;
-
-    private final List<String> taskListTags;
+    private boolean restored;
+    /**
+     * The ids of the tags tagging the task, in the order the task was tagged.
+     */
+    private int[] tagIds;
     /**
-     * Indicates whether the task is already been printed.
+     * The TaskLists the task was directly added to.
      */
-    private boolean printed;
-    private boolean wasDeleted;
+    private final List<TaskList> taskLists;
     /**
-     * A list containing all the subtask.
+     * A collection containing all the subtask.
      */
-    private final List<Task> subTasks;
+    private final OrderedTasks subTasks;
     /**
      * The Parent task of the task
      */
     private Task parentTask;
     /**
-     * The subtask number of the task.
+     * The number of undone and not deleted tasks below the task, in any level.
+     */
+    private int openSubTasks;
+    /**
+     * The earliest deadline of the task and the tasks below it which are not deleted, NO_DEADLINE if none has one.
+     */
+    private long earliestDeadline;
+    /**
+     * The latest deadline of the task and the tasks below it which are not deleted, NO_DEADLINE if none has one.
+     */
+    private long latestDeadline;
+    /**
+     * Indicates whether the task or a task below it is not deleted and has no deadline.
+     */
+    private boolean withoutDeadline;
+    /**
+     * The tasks of the system the task was added to.
+     */
+    private OrderedTasks systemTasks;
+    /**
+     * The tag index of the system the task was added to.
+     */
+    private TagIndex tagIndex;
+    /**
+     * The dictionary of the tags of the system the task was added to.
+     */
+    private TagDictionary tagDictionary;
+    /**
+     * The deadline index of the system the task was added to.
+     */
+    private DeadlineIndex deadlineIndex;
+    /**
+     * The columns storing the state of the tasks of the system the task was added to.
+     */
+    private TaskColumns columns;
+    /**
+     * The tasks of the system the task was added to whose state changed since the last snapshot.
      */
-    private int subTaskNumber;
-    private int deletedTask;
+    private ChangedTasks changedTasks;
 
     /**
      * Constructs a new Task object.
@@ -81,16 +113,18 @@ public class Task implements Comparable<Task> {
         this.taskNumber = taskNumber;
         this.name = taskName;
         this.done = false;
-        this.tags = new LinkedList<>();
-        this.subTasks = new LinkedList<>();
+        this.tagIds = new int[0];
+        this.subTasks = new OrderedTasks(true);
         this.deleted = false;
         this.parentTask = null;
-        this.taskListTags = new LinkedList<>();
+        this.taskLists = new LinkedList<>();
         /*The priority will be seted to the default priority, it can later be changed.
         It helps to prevent a nullpointer exception.*/
         this.priority = Priority.ND;
-        this.deletedTask = 0;
-
+        this.deadlineDay = NO_DEADLINE;
+        this.earliestDeadline = NO_DEADLINE;
+        this.latestDeadline = NO_DEADLINE;
+        this.withoutDeadline = true;
     }
 
     /**
@@ -99,7 +133,23 @@ public class Task implements Comparable<Task> {
      * @param priority the priority to be seted.
      */
     public void setPriority(final Priority priority) {
+        Priority oldPriority = this.priority;
         this.priority = Objects.requireNonNullElse(priority, Priority.ND);
+        if (oldPriority == this.priority) {
+            return;
+        }
+        changed();
+        //The task is moved within all the collections containing it, so that they stay sorted.
+        if (this.systemTasks != null) {
+            this.systemTasks.updatePriority(this, oldPriority);
+        }
+        if (this.parentTask != null) {
+            this.parentTask.subTasks.updatePriority(this, oldPriority);
+            this.parentTask.changed();
+        }
+        for (TaskList taskList : this.taskLists) {
+            taskList.updatePriority(this, oldPriority);
+        }
     }
 
     /**
@@ -116,7 +166,10 @@ public class Task implements Comparable<Task> {
      * @param done the done boolean to be set on to the task.
      */
     public void setDone(boolean done) {
+        boolean wasOpen = isOpen();
         this.done = done;
+        changed();
+        updateOpenState(wasOpen);
     }
 
     /**
@@ -132,16 +185,62 @@ public class Task implements Comparable<Task> {
      * @return the dead line of the task.
      */
     public LocalDate getDeadline() {
-        return this.deadline;
+        if (!hasDeadline()) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(this.deadlineDay);
+    }
+
+    /**
+     * Returns the dead line of the task as epoch day.
+     * @return the epoch day of the dead line, NO_DEADLINE if the task has none.
+     */
+    public long getDeadlineDay() {
+        return this.deadlineDay;
+    }
+
+    /**
+     * Checks if the task has a dead line.
+     * @return true if the task has a dead line, false otherwise.
+     */
+    public boolean hasDeadline() {
+        return this.deadlineDay != NO_DEADLINE;
+    }
+
+    /**
+     * Checks if the task has a dead line within the given range. Both limits are inclusive.
+     * @param startDay the epoch day of the first day of the range.
+     * @param endDay the epoch day of the last day of the range.
+     * @return true if the task has a dead line within the range, false otherwise.
+     */
+    public boolean isDeadlineBetween(final long startDay, final long endDay) {
+        return hasDeadline() && this.deadlineDay >= startDay && this.deadlineDay <= endDay;
+    }
+
+    /**
+     * Checks if the task has a dead line until the given day, the day itself is included.
+     * @param endDay the epoch day of the last day.
+     * @return true if the task has a dead line until the given day, false otherwise.
+     */
+    public boolean isDeadlineUntil(final long endDay) {
+        return hasDeadline() && this.deadlineDay <= endDay;
     }
 
     /**
      * Sets the dead line for the task.
-     * @param deadline the deadline to be set on to the task.
+     * @param deadline the deadline to be set on to the task, null if the task has none.
      */
     public void setDeadLine(final LocalDate deadline) {
-        //The deadline was previously checked and is not null.
-        this.deadline = deadline;
+        long newDeadlineDay = deadline == null ? NO_DEADLINE : deadline.toEpochDay();
+        if (this.deadlineIndex != null) {
+            this.deadlineIndex.update(this, this.deadlineDay, newDeadlineDay);
+        }
+        this.deadlineDay = newDeadlineDay;
+        if (this.columns != null) {
+            this.columns.setDeadline(this.taskNumber, newDeadlineDay);
+        }
+        changed();
+        updateDeadlineRanges();
     }
 
     /**
@@ -165,34 +264,149 @@ public class Task implements Comparable<Task> {
      * @return a list of the tags of the tag.
      */
     public List<String> getTags() {
-        return new LinkedList<>(this.tags);
+        List<String> tags = new LinkedList<>();
+        for (int tagId : this.tagIds) {
+            tags.add(this.tagDictionary.getTag(tagId));
+        }
+        return tags;
+    }
+
+    /**
+     * Checks if the task itself is tagged with the given tag. The tags of the TaskLists are not checked.
+     * @param tag the tag to be checked.
+     * @return true if the task is tagged with the tag, false otherwise.
+     */
+    public boolean hasTag(final String tag) {
+        return this.tagDictionary != null && hasTagId(this.tagDictionary.getId(tag));
     }
 
     /**
      * Adds a tag for the task, it also tags the task with the given tag.
-     * The tag can come from a list.
+     * The task must already be added to the system, whose dictionary stores the tag.
      * @param tag the tag to be added and tagged to the task.
-     * @param isListTag decides if the tag is comming from a list o if it is not.
-     */
-    public void addTag(final String tag, boolean isListTag) {
-        if (!isListTag) {
-            this.tags.add(tag);
-        } else {
-            //adds it to the tag list.
-            this.taskListTags.add(tag);
+     */
+    void addTag(final String tag) {
+        int tagId = this.tagDictionary.intern(tag);
+        this.tagIndex.addTag(tagId, this, this.tagIds.length);
+        this.tagIds = Arrays.copyOf(this.tagIds, this.tagIds.length + 1);
+        this.tagIds[this.tagIds.length - 1] = tagId;
+        changed();
+    }
+
+    /**
+     * Checks if the task itself is tagged with the tag of the given id.
+     * @param tagId the id of the tag to be checked.
+     * @return true if the task is tagged with the tag, false otherwise.
+     */
+    boolean hasTagId(final int tagId) {
+        for (int ownTagId : this.tagIds) {
+            if (ownTagId == tagId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of the tags of the task.
+     * @return the number of the tags.
+     */
+    int getTagCount() {
+        return this.tagIds.length;
+    }
+
+    /**
+     * Returns the tag at the given position, in the order the task was tagged. The tag is not copied.
+     * @param index the position of the tag.
+     * @return the tag at the position.
+     */
+    String getTag(final int index) {
+        return this.tagDictionary.getTag(this.tagIds[index]);
+    }
+
+    /**
+     * Returns the ids of the tags of the task, in the order the task was tagged.
+     * @return the ids of the tags, which must not be changed.
+     */
+    int[] getTagIds() {
+        return this.tagIds;
+    }
+
+    /**
+     * Sets the tasks of the system, which are updated whenever the priority of the task changes.
+     * @param systemTasks the tasks of the system.
+     */
+    void setSystemTasks(final OrderedTasks systemTasks) {
+        this.systemTasks = systemTasks;
+    }
+
+    /**
+     * Sets the tag index which is updated whenever the task is tagged.
+     * @param tagIndex the tag index of the system.
+     */
+    void setTagIndex(final TagIndex tagIndex) {
+        this.tagIndex = tagIndex;
+        this.tagDictionary = tagIndex.getDictionary();
+    }
+
+    /**
+     * Sets the deadline index which is updated whenever the deadline of the task changes.
+     * @param deadlineIndex the deadline index of the system.
+     */
+    void setDeadlineIndex(final DeadlineIndex deadlineIndex) {
+        this.deadlineIndex = deadlineIndex;
+    }
+
+    /**
+     * Sets the columns which are updated whenever the state of the task changes.
+     * @param columns the columns of the system.
+     */
+    void setColumns(final TaskColumns columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Sets the changed tasks of the system, the task is added to them whenever its state changes.
+     * @param changedTasks the changed tasks of the system.
+     */
+    void setChangedTasks(final ChangedTasks changedTasks) {
+        this.changedTasks = changedTasks;
+    }
+
+    /**
+     * Creates the state of the task for a snapshot. The subtasks of the task are frozen, so their current version
+     *    is shared with the state.
+     * @return the new state of the task.
+     */
+    TaskState createState() {
+        String[] tags = new String[this.tagIds.length];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = getTag(i);
         }
+        String[] taskListNames = new String[this.taskLists.size()];
+        int index = 0;
+        for (TaskList taskList : this.taskLists) {
+            taskListNames[index++] = taskList.getName();
+        }
+        return new TaskState(this, this.done, this.deleted, hasOpenSubTasks(), tags, taskListNames,
+            this.parentTask == null ? TaskState.NO_PARENT : this.parentTask.taskNumber, this.subTasks.freeze());
     }
 
     /**
      * Adds a sub task to the task.
      * @param subTask the subtask to be added.
      */
-    public void addSubTask(Task subTask) {
+    void addSubTask(Task subTask) {
         subTask.parentTask = this;
-        subTask.subTaskNumber = this.subTasks.size() + 1;
+        //the sub task is added at the end of its priority.
         this.subTasks.add(subTask);
-        this.subTasks.sort(Task::compareTo);
-        //the sub task list will be sorted.
+        if (this.columns != null) {
+            this.columns.link(this.taskNumber, subTask.taskNumber);
+        }
+        changed();
+        subTask.changed();
+        subTask.addOpenSubTasksToParents(subTask.getOpenTasksCount());
+        updateDeadlineRanges();
     }
 
 
@@ -201,8 +415,16 @@ public class Task implements Comparable<Task> {
      * @return a list of the subtask of the task.
      */
     public List<Task> getSubTasks() {
-        this.subTasks.sort(Task::compareTo);
-        return new LinkedList<>(this.subTasks);
+        return this.subTasks.toList();
+    }
+
+    /**
+     * Returns a read-only view of the subtasks of the task, sorted in the order they are shown.
+     * The view does not copy the subtasks, so the subtasks can not be reassigned while iterating over it.
+     * @return a read-only view of the subtasks of the task.
+     */
+    public Iterable<Task> getSubTasksView() {
+        return this.subTasks.getView();
     }
 
     /**
@@ -218,16 +440,40 @@ public class Task implements Comparable<Task> {
      * Sets the current delete status for the task.
      * @param deletedStatus the status to be set.
      */
-    public void setDeleted(boolean deletedStatus) {
+    void setDeleted(boolean deletedStatus) {
+        boolean wasOpen = isOpen();
         this.deleted = deletedStatus;
+        if (this.columns != null) {
+            this.columns.setDeleted(this.taskNumber, deletedStatus);
+        }
+        changed();
+        updateOpenState(wasOpen);
+        updateDeadlineRanges();
     }
 
 
+    /**
+     * Checks if the task was restored after it was deleted.
+     * @return true if the task was restored, false otherwise.
+     */
+    public boolean isRestored() {
+        return this.restored;
+    }
+
+    /**
+     * Marks the task as restored, it keeps the mark when it is deleted and restored again.
+     * The mark is read when the task is added to the subtasks of a task or moved to their end, so it must be set
+     *    before.
+     */
+    public void setRestored() {
+        this.restored = true;
+    }
+
     /**
      * Deletes a task and all the containing subtasks in a recursive form.
      * @return the number of task that had beeen deleted.
      */
-    public int deleteTask() {
+    int deleteTask() {
         int sum = 0;
         for (Task task : this.subTasks) {
             if (!task.isDeleted()) {
@@ -236,12 +482,7 @@ public class Task implements Comparable<Task> {
             }
         }
 
-        this.deleted = true;
-        if (this.parentTask != null) {
-            this.subTaskNumber = parentTask.deletedTask + 1;
-            parentTask.deletedTask++;
-        }
-        this.wasDeleted = true;
+        setDeleted(true);
         return sum;
     }
 
@@ -250,26 +491,115 @@ public class Task implements Comparable<Task> {
      * It also sets the subtask parent to null.
      * @param subTask the subtask to be deleted.
      */
-    public void deleteSubTask(Task subTask) {
+    void deleteSubTask(Task subTask) {
+        subTask.addOpenSubTasksToParents(-subTask.getOpenTasksCount());
         subTask.parentTask = null;
         this.subTasks.remove(subTask);
+        if (this.columns != null) {
+            this.columns.unlink(subTask.taskNumber);
+        }
+        changed();
+        subTask.changed();
+        updateDeadlineRanges();
     }
 
     /**
-     * Checks if the task name contains the given string sequence.
-     * Checks whether the task parent task contains the given stringn sequence.
-     * @param namePart the string to be checked.
-     * @return true if the name contains the string sequence, false otherwise.
+     * Checks if the task or a task below it, which is not deleted, has no deadline or a deadline within the given
+     *    range. Both limits are inclusive.
+     * The subtasks are only visited if their deadlines can be within the range.
+     * @param startDay the epoch day of the first day of the range.
+     * @param endDay the epoch day of the last day of the range.
+     * @return true if a task without deadline or with a deadline within the range is found, false otherwise.
      */
-    public boolean containsString(final String namePart) {
-        if (this.name.contains(namePart)) {
+    public boolean hasDeadlineBetween(final long startDay, final long endDay) {
+        if (this.withoutDeadline) {
             return true;
-        } else if (this.parentTask != null) {
-            return this.parentTask.containsString(namePart);
+        }
+        //None of the deadlines can be within the range.
+        if (this.earliestDeadline == NO_DEADLINE || this.earliestDeadline > endDay
+            || this.latestDeadline < startDay) {
+            return false;
+        }
+        if (!this.deleted && isDeadlineBetween(startDay, endDay)) {
+            return true;
+        }
+        for (Task task : this.subTasks) {
+            if (task.hasDeadlineBetween(startDay, endDay)) {
+                return true;
+            }
         }
         return false;
     }
 
+    /**
+     * Checks if any task below the task, in any level, is undone and not deleted.
+     * The number of these tasks is kept up to date, so the subtasks do not need to be visited.
+     * @return true if the task has an undone and not deleted subtask, false otherwise.
+     */
+    public boolean hasOpenSubTasks() {
+        return this.openSubTasks > 0;
+    }
+
+    private boolean isOpen() {
+        return !this.done && !this.deleted;
+    }
+
+    private int getOpenTasksCount() {
+        //The task itself and the open tasks below it.
+        return (isOpen() ? 1 : 0) + this.openSubTasks;
+    }
+
+    private void updateOpenState(boolean wasOpen) {
+        if (wasOpen != isOpen()) {
+            addOpenSubTasksToParents(isOpen() ? 1 : -1);
+        }
+    }
+
+    private void updateDeadlineRanges() {
+        //The parents only need to be updated as long as the ranges change.
+        Task task = this;
+        while (task != null && task.computeDeadlineRange()) {
+            task = task.parentTask;
+        }
+    }
+
+    private boolean computeDeadlineRange() {
+        long earliest = this.deleted ? NO_DEADLINE : this.deadlineDay;
+        long latest = earliest;
+        boolean undated = !this.deleted && !hasDeadline();
+        for (Task task : this.subTasks) {
+            undated |= task.withoutDeadline;
+            if (task.earliestDeadline != NO_DEADLINE && (earliest == NO_DEADLINE || task.earliestDeadline < earliest)) {
+                earliest = task.earliestDeadline;
+            }
+            if (task.latestDeadline != NO_DEADLINE && (latest == NO_DEADLINE || task.latestDeadline > latest)) {
+                latest = task.latestDeadline;
+            }
+        }
+        boolean changed = undated != this.withoutDeadline || earliest != this.earliestDeadline
+            || latest != this.latestDeadline;
+        this.withoutDeadline = undated;
+        this.earliestDeadline = earliest;
+        this.latestDeadline = latest;
+        return changed;
+    }
+
+    private void addOpenSubTasksToParents(int difference) {
+        if (difference == 0) {
+            return;
+        }
+        for (Task task = this.parentTask; task != null; task = task.parentTask) {
+            task.openSubTasks += difference;
+            task.changed();
+        }
+    }
+
+    private void changed() {
+        if (this.changedTasks != null) {
+            this.changedTasks.add(this);
+        }
+    }
+
     /**
      * Returns the parent task of the task.
      * @return the parent of the task.
@@ -278,55 +608,53 @@ public class Task implements Comparable<Task> {
         return this.parentTask;
     }
 
+
     /**
-     * Marks the task as printed.
+     * Adjust the positon of a given task within the current taks's subtasks.
+     * If the task is a subtask of the current task, it is moved to the end of its priority.
+     * @param task the subtask to be adjusted.
      */
-    public void setPrinted() {
-        this.printed = true;
+    void addjustList(Task task) {
+        this.subTasks.moveToEnd(task);
+        changed();
     }
 
     /**
-     * Checks if the task has been printed.
-     * @return true if the task has ben printed, false otherwise.
+     * Checks if the task was directly added to the given TaskList.
+     * @param taskList the TaskList to be checked.
+     * @return true if the task is a direct member of the TaskList, false otherwise.
      */
-    public boolean isPrinted() {
-        return this.printed;
+    boolean isInTaskList(final TaskList taskList) {
+        return this.taskLists.contains(taskList);
     }
 
     /**
-     * Marks the task and the subtasks as unprinted in a recursive form.
+     * Returns the TaskLists the task was directly added to.
+     * @return a new list of the TaskLists containing the task.
      */
-    public void setUnprinted() {
-        for (Task task : this.subTasks) {
-            task.setUnprinted();
-        }
-        this.printed = false;
+    List<TaskList> getTaskLists() {
+        return new LinkedList<>(this.taskLists);
     }
 
-
     /**
-     * Adjust the positon of a given task within the current taks's subtasks list.
-     * If the task is found in the subtasks list, it is removed and then added again, placing it at the end of the list.
-     * If the task is not found directly, the method recursively traverses through subtasks to perform the adjusment.
-     * @param task
+     * Marks the task as a direct member of the given TaskList.
+     * @param taskList the TaskList the task was added to.
      */
-    public void addjustList(Task task) {
-        if (this.subTasks.contains(task)) { // if the taks is found as a direct subtask.
-            this.subTasks.remove(task);
-            this.subTasks.add(task);
-        } else { // search the task in the subtasks from the currrent task subtasks.
-            for (Task tasks : this.subTasks) {
-                tasks.addjustList(task);
-            }
+    void addTaskList(final TaskList taskList) {
+        if (!this.taskLists.contains(taskList)) {
+            this.taskLists.add(taskList);
+            changed();
         }
     }
 
     /**
-     * Returns the tags from the listTask containing the task.
-     * @return a list of the tags for the task marked with the ListTask.
+     * Removes the mark of the task as a direct member of the given TaskList.
+     * @param taskList the TaskList the task was removed from.
      */
-    public List<String> getTaskListTags() {
-        return new LinkedList<>(this.taskListTags);
+    void removeTaskList(final TaskList taskList) {
+        if (this.taskLists.remove(taskList)) {
+            changed();
+        }
     }
 
     /**
@@ -334,57 +662,6 @@ public class Task implements Comparable<Task> {
      * @return the string representation of the task object.
      */
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        if (isDone()) {
-            stringBuilder.append(TASK_REPRESENTATION_FORMAT.formatted(TOGGLE_CHAR_FORMAT, this.name));
-        } else {
-            stringBuilder.append(TASK_REPRESENTATION_FORMAT.formatted(DELIMITER, this.name));
-        }
-        if (this.priority != Priority.ND) {
-            stringBuilder.append(PRIORITY_REPRESENTATION_FORMAT.formatted(this.priority.getValue()));
-        }
-        if (getDeadline() != null || !getTags().isEmpty()) {
-            stringBuilder.append(DATE_TAG_SEPARATOR);
-        }
-        if (!getTags().isEmpty()) {
-            StringJoiner tagsString = new StringJoiner(TAG_SEPARATOR);
-            for (String tag : getTags()) {
-                tagsString.add(tag);
-            }
-            stringBuilder.append(TAG_REPRESENTATION_FORMAT.formatted(tagsString.toString()));
-        }
-        if (getDeadline() != null) {
-            stringBuilder.append(DATE_REPRESENTATION_FORMAT.formatted(getDeadline().toString()));
-        }
-        return stringBuilder.toString();
-    }
-
-    /**
-     * Compares two tasks.
-     * @param o the object to be compared.
-     * @return  a negative integer, zero o a positive integer, as this task is less than, equal to, or greater
-     *     than the specified task.
-     */
-    public int compareTo(Task o) {
-        if (wasDeleted && !o.wasDeleted) {
-            return 1;
-        } else if (!wasDeleted && o.wasDeleted) {
-            return -1;
-        } else if (wasDeleted && o.wasDeleted) {
-            if (this.subTaskNumber < o.subTaskNumber) {
-                return 1;
-            } else if (this.subTaskNumber < o.subTaskNumber) {
-                return -1;
-            }
-        }
-        if (this.priority == o.priority && (subTaskNumber != 0 && o.subTaskNumber != 0)) {
-            return Integer.compare(subTaskNumber, o.subTaskNumber);
-        } else if (this.priority == o.priority) {
-            return Integer.compare(this.getTaskNumber(), o.getTaskNumber());
-        } else if ((Integer.compare(o.priority.getPriorityOrder(), this.priority.getPriorityOrder()) != 0)) {
-            return Integer.compare(o.priority.getPriorityOrder(), this.priority.getPriorityOrder());
-        } else {
-            return Integer.compare(this.taskNumber, o.taskNumber);
-        }
+        return TaskRenderer.appendTask(new StringBuilder(), this).toString();
     }
 }
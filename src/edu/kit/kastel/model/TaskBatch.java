@@ -0,0 +1,128 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents new tasks, their tags and the TaskLists they belong to, which are added to the Procrastinot system
+ *    at once, for example by a bulk import.
+ * The batch is filled without the system being locked, the system then adds all of it while it is locked once,
+ *    so no other thread sees the tasks before they are tagged and added to their TaskLists.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskBatch {
+    private final List<Task> tasks;
+    /**
+     * The parent task of every task at the same position, null for a task without parent task.
+     */
+    private final List<Task> parentTasks;
+    /**
+     * The tags of every task at the same position.
+     */
+    private final List<String[]> tags;
+    private final List<BatchList> taskLists;
+
+    /**
+     * Constructs a new empty TaskBatch.
+     */
+    public TaskBatch() {
+        this.tasks = new ArrayList<>();
+        this.parentTasks = new ArrayList<>();
+        this.tags = new ArrayList<>();
+        this.taskLists = new ArrayList<>();
+    }
+
+    /**
+     * Adds a new task to the batch. The task must not be added to the system yet and its task number must have
+     *    been handed out by the system. Its priority, dead line and done status are set before it is added.
+     * @param task the new task.
+     * @param parentTask the parent task, which must be added to the batch before, null if the task has none.
+     * @param taskTags the tags of the task, which must not contain a tag twice.
+     */
+    public void addTask(final Task task, final Task parentTask, final String[] taskTags) {
+        this.tasks.add(task);
+        this.parentTasks.add(parentTask);
+        this.tags.add(taskTags);
+    }
+
+    /**
+     * Adds a TaskList to the batch. If the system already has a TaskList with the name, the tags and the tasks
+     *    are added to this TaskList instead.
+     * @param name the name of the TaskList.
+     * @param listTags the tags of the TaskList.
+     * @param listTasks the tasks of the batch added to the TaskList, in the order they are added.
+     */
+    public void addTaskList(final String name, final String[] listTags, final List<Task> listTasks) {
+        this.taskLists.add(new BatchList(name, listTags, listTasks));
+    }
+
+    /**
+     * Returns the number of the tasks in the batch.
+     * @return the number of the tasks.
+     */
+    public int size() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Returns the tasks of the batch, in the order they were added.
+     * @return the tasks, the list is not copied.
+     */
+    List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the parent task of the task at the given position.
+     * @param index the position of the task.
+     * @return the parent task, null if the task has none.
+     */
+    Task getParentTask(final int index) {
+        return this.parentTasks.get(index);
+    }
+
+    /**
+     * Returns the tags of the task at the given position.
+     * @param index the position of the task.
+     * @return the tags of the task.
+     */
+    String[] getTags(final int index) {
+        return this.tags.get(index);
+    }
+
+    /**
+     * Returns the TaskLists of the batch, in the order they were added.
+     * @return the TaskLists, the list is not copied.
+     */
+    List<BatchList> getTaskLists() {
+        return this.taskLists;
+    }
+
+    /**
+     * Represents a TaskList of the batch, before it is added to the system.
+     */
+    static final class BatchList {
+        private final String name;
+        private final String[] tags;
+        private final List<Task> tasks;
+
+        private BatchList(final String name, final String[] tags, final List<Task> tasks) {
+            this.name = name;
+            this.tags = tags;
+            this.tasks = tasks;
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        String[] getTags() {
+            return this.tags;
+        }
+
+        List<Task> getTasks() {
+            return this.tasks;
+        }
+    }
+}
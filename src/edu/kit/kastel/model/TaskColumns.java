@@ -0,0 +1,214 @@
+package edu.kit.kastel.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents the state of the tasks stored in columns of primitive arrays, keyed by the task number.
+ * The hierarchy of the tasks is stored as the parent, the first child and the next sibling of every task,
+ *    so that scans over many tasks do not need to follow the references between the task objects.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskColumns {
+    /**
+     * The epoch day stored for the tasks without a deadline.
+     */
+    public static final int NO_DEADLINE = Integer.MIN_VALUE;
+    /**
+     * The task number used when there is no parent, child or sibling, task numbers start at 1.
+     */
+    private static final int NO_TASK = 0;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The task numbers of the stored tasks.
+     */
+    private final BitSet stored;
+    /**
+     * The task numbers of the deleted tasks.
+     */
+    private final BitSet deleted;
+    /**
+     * The names of the tasks.
+     */
+    private String[] names;
+    /**
+     * The deadlines of the tasks, stored as epoch days.
+     */
+    private int[] deadlines;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+
+    /**
+     * Constructs a new empty TaskColumns store.
+     */
+    public TaskColumns() {
+        this.stored = new BitSet();
+        this.deleted = new BitSet();
+        this.names = new String[INITIAL_CAPACITY];
+        this.deadlines = new int[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.firstChildren = new int[INITIAL_CAPACITY];
+        this.nextSiblings = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Stores the current state of the given task. The task must not have subtasks or a parent task yet.
+     * @param task the task to be stored.
+     */
+    public void add(final Task task) {
+        int taskNumber = task.getTaskNumber();
+        ensureCapacity(taskNumber);
+        this.stored.set(taskNumber);
+        this.names[taskNumber] = task.getName();
+        setDeadline(taskNumber, task.getDeadlineDay());
+        setDeleted(taskNumber, task.isDeleted());
+    }
+
+    /**
+     * Removes the task with the given task number from the store and from the children of its parent.
+     * @param taskNumber the task number of the task to be removed.
+     */
+    public void remove(final int taskNumber) {
+        unlink(taskNumber);
+        this.stored.clear(taskNumber);
+        this.deleted.clear(taskNumber);
+        this.names[taskNumber] = null;
+    }
+
+    /**
+     * Sets the deadline of the task with the given task number.
+     * @param taskNumber the task number of the task.
+     * @param deadlineDay the epoch day of the new deadline of the task, Task.NO_DEADLINE if it has none.
+     */
+    public void setDeadline(final int taskNumber, final long deadlineDay) {
+        this.deadlines[taskNumber] = deadlineDay == Task.NO_DEADLINE ? NO_DEADLINE : (int) deadlineDay;
+    }
+
+    /**
+     * Sets the deleted status of the task with the given task number.
+     * @param taskNumber the task number of the task.
+     * @param isDeleted the new deleted status of the task.
+     */
+    public void setDeleted(final int taskNumber, final boolean isDeleted) {
+        this.deleted.set(taskNumber, isDeleted);
+    }
+
+    /**
+     * Makes a task the child of another task. If the task had a parent, it is removed from its children first.
+     * @param parentNumber the task number of the parent task.
+     * @param childNumber the task number of the child task.
+     */
+    public void link(final int parentNumber, final int childNumber) {
+        unlink(childNumber);
+        this.parents[childNumber] = parentNumber;
+        this.nextSiblings[childNumber] = this.firstChildren[parentNumber];
+        this.firstChildren[parentNumber] = childNumber;
+    }
+
+    /**
+     * Removes a task from the children of its parent task.
+     * @param childNumber the task number of the child task.
+     */
+    public void unlink(final int childNumber) {
+        int parentNumber = this.parents[childNumber];
+        if (parentNumber == NO_TASK) {
+            return;
+        }
+        if (this.firstChildren[parentNumber] == childNumber) {
+            this.firstChildren[parentNumber] = this.nextSiblings[childNumber];
+        } else {
+            int sibling = this.firstChildren[parentNumber];
+            while (this.nextSiblings[sibling] != childNumber) {
+                sibling = this.nextSiblings[sibling];
+            }
+            this.nextSiblings[sibling] = this.nextSiblings[childNumber];
+        }
+        this.parents[childNumber] = NO_TASK;
+        this.nextSiblings[childNumber] = NO_TASK;
+    }
+
+    /**
+     * Returns the first stored and not deleted task number that is equal to or greater than the given one.
+     * @param fromTaskNumber the task number to start from.
+     * @return the next stored and not deleted task number, -1 if there is none.
+     */
+    public int nextActiveTask(final int fromTaskNumber) {
+        int taskNumber = this.stored.nextSetBit(fromTaskNumber);
+        while (taskNumber >= 0 && this.deleted.get(taskNumber)) {
+            taskNumber = this.stored.nextSetBit(taskNumber + 1);
+        }
+        return taskNumber;
+    }
+
+    /**
+     * Returns the name of the task with the given task number.
+     * @param taskNumber the task number of the task.
+     * @return the name of the task.
+     */
+    public String getName(final int taskNumber) {
+        return this.names[taskNumber];
+    }
+
+    /**
+     * Returns the deadline of the task with the given task number as epoch day.
+     * @param taskNumber the task number of the task.
+     * @return the epoch day of the deadline, NO_DEADLINE if the task has none.
+     */
+    public int getDeadlineDay(final int taskNumber) {
+        return this.deadlines[taskNumber];
+    }
+
+    /**
+     * Counts the not deleted tasks below the task with the given task number, in any level.
+     * The subtasks of a deleted task are not counted.
+     * @param taskNumber the task number of the task.
+     * @return the number of not deleted tasks below the task.
+     */
+    public int countSubTasks(final int taskNumber) {
+        int count = 0;
+        int[] pending = new int[INITIAL_CAPACITY];
+        int pendingCount = 0;
+        int child = this.firstChildren[taskNumber];
+        while (child != NO_TASK || pendingCount > 0) {
+            if (child == NO_TASK) {
+                //All the siblings were visited, the next sibling of a parent task continues.
+                pendingCount--;
+                child = pending[pendingCount];
+                continue;
+            }
+            if (!this.deleted.get(child)) {
+                count++;
+                if (this.firstChildren[child] != NO_TASK) {
+                    if (pendingCount == pending.length) {
+                        pending = Arrays.copyOf(pending, pending.length * GROWTH_FACTOR);
+                    }
+                    pending[pendingCount] = this.nextSiblings[child];
+                    pendingCount++;
+                    child = this.firstChildren[child];
+                    continue;
+                }
+            }
+            child = this.nextSiblings[child];
+        }
+        return count;
+    }
+
+    /**
+     * Makes sure that the columns can store the task with the given task number without growing.
+     * @param taskNumber the highest task number to be stored.
+     */
+    void ensureCapacity(final int taskNumber) {
+        if (taskNumber < this.names.length) {
+            return;
+        }
+        int newCapacity = Math.max(this.names.length * GROWTH_FACTOR, taskNumber + 1);
+        this.names = Arrays.copyOf(this.names, newCapacity);
+        this.deadlines = Arrays.copyOf(this.deadlines, newCapacity);
+        this.parents = Arrays.copyOf(this.parents, newCapacity);
+        this.firstChildren = Arrays.copyOf(this.firstChildren, newCapacity);
+        this.nextSiblings = Arrays.copyOf(this.nextSiblings, newCapacity);
+    }
+}
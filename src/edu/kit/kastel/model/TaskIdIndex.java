@@ -0,0 +1,69 @@
+package edu.kit.kastel.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a dense index of tasks keyed by their task number.
+ * Since the task numbers are handed out sequentially, the tasks are stored in a growable array
+ *    so that a task can be found in constant time.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskIdIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The tasks, the position in the array is the task number.
+     */
+    private Task[] tasks;
+
+    /**
+     * Constructs a new empty TaskIdIndex.
+     */
+    public TaskIdIndex() {
+        this.tasks = new Task[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds the given task to the index. The task is stored at the position of its task number.
+     * @param task the task to be added.
+     */
+    public void add(final Task task) {
+        int taskNumber = task.getTaskNumber();
+        ensureCapacity(taskNumber);
+        this.tasks[taskNumber] = task;
+    }
+
+    /**
+     * Makes sure that the index can store the task with the given task number without growing.
+     * @param taskNumber the highest task number to be stored.
+     */
+    public void ensureCapacity(final int taskNumber) {
+        if (taskNumber >= this.tasks.length) {
+            int newCapacity = Math.max(this.tasks.length * GROWTH_FACTOR, taskNumber + 1);
+            this.tasks = Arrays.copyOf(this.tasks, newCapacity);
+        }
+    }
+
+    /**
+     * Returns the task with the given task number.
+     * @param taskNumber the task number to be checked.
+     * @return the task matching the task number, null if there is no such task.
+     */
+    public Task get(final int taskNumber) {
+        if (taskNumber < 0 || taskNumber >= this.tasks.length) {
+            return null;
+        }
+        return this.tasks[taskNumber];
+    }
+
+    /**
+     * Removes the given task from the index.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        if (get(task.getTaskNumber()) == task) {
+            this.tasks[task.getTaskNumber()] = null;
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package edu.kit.kastel.model;
 
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Represents a collections of Tasks organized into a list. A TaskList can contain Tasks and
  *     provides methods to manage and interact with them. The TaskList can also be tagged with certain tags.
+ * The TaskList is changed through the Procrastinot system it was added to, which guards the changes.
  * @author ucxug
  * @version 1.0
  */
@@ -17,13 +18,21 @@ public class TaskList  {
      */
     private final String name;
     /**
-     * The tags of the TaskList.
+     * The ids of the tags of the TaskList.
      */
-    private final List<String> tags;
+    private final BitSet tagIds;
     /**
-     * A list of tasks added to the TaskList.
+     * The dictionary of the tags of the system the TaskList was added to.
      */
-    private  final List<Task> tasks;
+    private TagDictionary tagDictionary;
+    /**
+     * The tasks added to the TaskList, sorted by their priority and the order they were added.
+     */
+    private final OrderedTasks tasks;
+    /**
+     * The state of the TaskList for the snapshots, null if the TaskList changed since the state was created.
+     */
+    private TaskListState state;
 
 
     /**
@@ -32,8 +41,8 @@ public class TaskList  {
      */
     public TaskList(final String name) {
         this.name = name;
-        this.tags = new LinkedList<>();
-        this.tasks = new LinkedList<>();
+        this.tagIds = new BitSet();
+        this.tasks = new OrderedTasks();
     }
 
     /**
@@ -44,52 +53,64 @@ public class TaskList  {
         return name;
     }
 
+    /**
+     * Returns the tags of the task list, in the order of their ids.
+     * @return a new list of the tags of the task list.
+     */
+    public List<String> getTags() {
+        List<String> tags = new LinkedList<>();
+        for (int tagId = this.tagIds.nextSetBit(0); tagId >= 0; tagId = this.tagIds.nextSetBit(tagId + 1)) {
+            tags.add(this.tagDictionary.getTag(tagId));
+        }
+        return tags;
+    }
+
     /**
      * Checks if the task list contains a given tag.
      * @param tag the tag to be checked.
      * @return true if the task list contains the tag, false otherwise.
      */
     public boolean containsTag(final String tag) {
-        return this.tags.contains(tag);
+        int tagId = this.tagDictionary.getId(tag);
+        return tagId != TagDictionary.UNKNOWN_TAG && this.tagIds.get(tagId);
     }
 
     /**
      * Adds a given tag to the task list.
+     * The tasks of the list are tagged through their membership, so the tag is not copied to them.
      * @param tag the tag to be added.
      */
-    public void addTag(final String tag) {
-        this.tags.add(tag);
-        for (Task task : tasks) {
-            //tags all the list tasks with the given tag.
-            task.addTag(tag, true);
-        }
+    void addTag(final String tag) {
+        this.tagIds.set(this.tagDictionary.intern(tag));
+        this.state = null;
+    }
+
+    /**
+     * Checks if the task list contains the tag of the given id.
+     * @param tagId the id of the tag to be checked.
+     * @return true if the task list contains the tag, false otherwise.
+     */
+    boolean hasTagId(final int tagId) {
+        return this.tagIds.get(tagId);
+    }
+
+    /**
+     * Sets the dictionary which stores the tags of the task list.
+     * @param tagDictionary the dictionary of the tags of the system.
+     */
+    void setTagDictionary(final TagDictionary tagDictionary) {
+        this.tagDictionary = tagDictionary;
     }
 
     /**
      * Checks if the task list contains a given Task.
+     * The task is contained if it or one of its parent tasks was added to the task list.
      * @param task the task to be checked.
      * @return true if the task list contains the given task, false otherwise.
      */
     public boolean containsTask(final Task task) {
-        if (this.tasks.contains(task)) {
-            return true;
-        }
-        for (Task listTasks : this.tasks) {
-            if (subTaskContainsTask(listTasks, task)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-
-    private boolean subTaskContainsTask(Task parentTask, Task taskToSearch) {
-        List<Task> subTasks = parentTask.getSubTasks();
-        if (!subTasks.isEmpty() && subTasks.contains(taskToSearch)) {
-            return true;
-        }
-        for (Task task : parentTask.getSubTasks()) {
-            if (subTaskContainsTask(task, taskToSearch)) {
+        for (Task currentTask = task; currentTask != null; currentTask = currentTask.getParentTask()) {
+            if (currentTask.isInTaskList(this)) {
                 return true;
             }
         }
@@ -97,11 +118,13 @@ public class TaskList  {
     }
 
     /**
-     * Adds a task to the taskList.
+     * Adds a task to the taskList. If the task was already added, it is moved to the end of its priority.
      * @param task the task to be added.
      */
-    public void addTask(final Task task) {
+    void addTask(final Task task) {
         this.tasks.add(task);
+        task.addTaskList(this);
+        this.state = null;
     }
 
 
@@ -110,59 +133,80 @@ public class TaskList  {
      * @return the list of task  from the taskList.
      */
     public List<Task> getTasks() {
-        List<Task>  taggedTask = new LinkedList<>();
+        List<Task> taggedTask = new LinkedList<>();
         for (Task task : this.tasks) {
-            if (!task.isDeleted() && !taggedTask.contains(task)) {
+            if (!task.isDeleted()) {
                 taggedTask.add(task);
             }
         }
-        sort();
-        return new LinkedList<>(taggedTask);
+        return taggedTask;
+    }
+
+    /**
+     * Returns a read-only view of the task of the taskList, sorted in the order they are shown.
+     * The view does not copy the tasks and also contains the deleted tasks.
+     * @return a read-only view of the tasks from the taskList.
+     */
+    public Iterable<Task> getTasksView() {
+        return this.tasks.getView();
     }
 
     /**
      * Helps to sort a task that has been deleted.
      * @param task the task to be sorted.
      */
-    public void adjustList(Task task) {
-        if (this.tasks.contains(task)) {
-            this.tasks.remove(task);
-            this.tasks.add(task);   
-        }
+    void adjustList(Task task) {
+        this.tasks.moveToEnd(task);
+        this.state = null;
     }
 
     /**
-     * Adjust the task list by removing the provided task and its associated subtask recursively,
-     * if the task or any of its subtask are found within the current tasks list.
-     * @param taskToSearch the Task to be searched for and removed along within subtasks.
+     * Adjust the task list by removing the provided task, if one of its parent tasks is found within the current
+     * tasks list.
+     * @param taskToSearch the Task to be searched for and removed.
      */
-    public void adjust(Task taskToSearch) {
-        for (Task task : this.tasks) {
-            if (isSubtask(taskToSearch, task)) {
-                this.tasks.removeAll(Collections.singleton(taskToSearch));
+    void adjust(Task taskToSearch) {
+        if (!taskToSearch.isInTaskList(this)) {
+            return;
+        }
+        for (Task task = taskToSearch.getParentTask(); task != null; task = task.getParentTask()) {
+            if (task.isInTaskList(this)) {
+                this.tasks.remove(taskToSearch);
+                taskToSearch.removeTaskList(this);
+                this.state = null;
+                return;
             }
         }
     }
 
-    private boolean isSubtask(Task subtTask, Task parentTask) {
-        if (parentTask.getSubTasks().contains(subtTask)) {
-            return true;
-        }
-        for (Task task : parentTask.getSubTasks()) {
-            if (isSubtask(subtTask, task)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Removes a task from the task list.
+     * @param task the task to be removed.
+     */
+    void removeTask(final Task task) {
+        this.tasks.remove(task);
+        task.removeTaskList(this);
+        this.state = null;
     }
 
-    private void sort() {
-        this.tasks.sort((task1, task2) -> {
-            if (task1.getPriority() != task2.getPriority()) {
-                return Integer.compare(task2.getPriority().getPriorityOrder(),
-                    task1.getPriority().getPriorityOrder());
-            }
-            return 0;
-        });
+    /**
+     * Moves a task whose priority changed to its new position within the task list.
+     * @param task the task whose priority changed.
+     * @param oldPriority the previous priority of the task.
+     */
+    void updatePriority(final Task task, final Priority oldPriority) {
+        this.tasks.updatePriority(task, oldPriority);
+        this.state = null;
+    }
+
+    /**
+     * Returns the state of the TaskList for a snapshot, it is only created again after the TaskList changed.
+     * @return the state of the TaskList.
+     */
+    TaskListState getState() {
+        if (this.state == null) {
+            this.state = new TaskListState(this.name, getTags(), this.tasks.freeze());
+        }
+        return this.state;
     }
 }
@@ -0,0 +1,58 @@
+package edu.kit.kastel.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the state of a TaskList in one version of the system, as it is read from a snapshot.
+ * A state is never changed, its tasks are a frozen version of the tasks of the TaskList, including the deleted ones.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskListState {
+    private final String name;
+    /**
+     * The tags of the TaskList, in the order of their ids.
+     */
+    private final List<String> tags;
+    /**
+     * The root of the frozen tasks of the TaskList, null if the TaskList has no tasks.
+     */
+    private final TaskTreap.Node tasks;
+
+    /**
+     * Constructs a new state of a TaskList.
+     * @param name the name of the TaskList.
+     * @param tags the tags of the TaskList, in the order of their ids.
+     * @param tasks the root of the frozen tasks of the TaskList.
+     */
+    TaskListState(final String name, final List<String> tags, final TaskTreap.Node tasks) {
+        this.name = name;
+        this.tags = Collections.unmodifiableList(tags);
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the name of the TaskList.
+     * @return the name of the TaskList.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the tags of the TaskList, in the order of their ids.
+     * @return a read-only list of the tags.
+     */
+    public List<String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * Returns the root of the frozen tasks of the TaskList.
+     * @return the root of the tasks, null if the TaskList has no tasks.
+     */
+    TaskTreap.Node getTasks() {
+        return this.tasks;
+    }
+}
@@ -0,0 +1,205 @@
+package edu.kit.kastel.model;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the renderer of the lines of the tasks, as they are shown in the task trees.
+ * The line of a task is written directly into a StringBuilder, which the renderer reuses for every line.
+ *    The indents and the priorities are prepared once and the deadline is written digit by digit,
+ *    so rendering a line does not create any object once the builder has grown to the length of the lines.
+ * A renderer must only be used by one thread at a time.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskRenderer {
+    private static final String OPEN_TASK_PREFIX = "- [ ] ";
+    private static final String DONE_TASK_PREFIX = "- [x] ";
+    private static final String PRIORITY_PREFIX = " [";
+    private static final String PRIORITY_SUFFIX = "]";
+    private static final String DATE_TAG_SEPARATOR = ":";
+    private static final String TAGS_PREFIX = " (";
+    private static final String TAGS_SUFFIX = ")";
+    private static final String TAG_SEPARATOR = ", ";
+    private static final String DEADLINE_PREFIX = " --> ";
+    private static final String INDENT = "  ";
+    private static final char DATE_SEPARATOR = '-';
+    private static final char ZERO = '0';
+    private static final int INITIAL_INDENT_LEVELS = 16;
+    private static final int TWO_DIGITS = 10;
+    private static final int THREE_DIGITS = 100;
+    private static final int FOUR_DIGITS = 1000;
+    private static final int LAST_FOUR_DIGIT_YEAR = 9999;
+    /**
+     * The number of days from 0000-03-01 to 1970-01-01, the days are counted from March on, so the leap day
+     *    is the last day of a year.
+     */
+    private static final long DAYS_FROM_MARCH_ZERO = 719468;
+    /**
+     * The number of days of a cycle of 400 years, after which the calendar repeats.
+     */
+    private static final long DAYS_PER_ERA = 146097;
+    private static final long YEARS_PER_ERA = 400;
+    private static final long DAYS_PER_YEAR = 365;
+    private static final long DAYS_PER_FOUR_YEARS = 1460;
+    private static final long DAYS_PER_CENTURY = 36524;
+    private static final long YEARS_PER_LEAP_YEAR = 4;
+    private static final long YEARS_PER_CENTURY = 100;
+    /**
+     * The months from March to July and from August to December have together 153 days each.
+     */
+    private static final long DAYS_PER_FIVE_MONTHS = 153;
+    private static final long MONTHS_PER_FIVE_MONTHS = 5;
+    private static final long MONTH_ROUNDING = 2;
+    private static final long MONTHS_FROM_MARCH_TO_DECEMBER = 10;
+    private static final int MARCH = 3;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int FEBRUARY = 2;
+    /**
+     * The representation of every priority, indexed by the ordinal of the priority.
+     */
+    private static final String[] PRIORITY_REPRESENTATIONS = new String[Priority.values().length];
+
+    static {
+        for (Priority priority : Priority.values()) {
+            PRIORITY_REPRESENTATIONS[priority.ordinal()] = priority == Priority.ND ? ""
+                : PRIORITY_PREFIX + priority.getValue() + PRIORITY_SUFFIX;
+        }
+    }
+
+    private final StringBuilder line = new StringBuilder();
+    /**
+     * The indent of the deepest level rendered so far, the indents of the lower levels are a prefix of it.
+     */
+    private String indents = INDENT.repeat(INITIAL_INDENT_LEVELS);
+
+    /**
+     * Renders the line of the given task with the indent of the given level.
+     * @param task the task to be rendered.
+     * @param indentLevel the indent level of the task.
+     * @return the builder containing the line, without line separator. It is reused by the next call.
+     */
+    public StringBuilder render(final Task task, final int indentLevel) {
+        return appendTask(startLine(indentLevel), task);
+    }
+
+    /**
+     * Renders the line of the given state of a task with the indent of the given level.
+     * @param state the state of the task to be rendered.
+     * @param indentLevel the indent level of the task.
+     * @return the builder containing the line, without line separator. It is reused by the next call.
+     */
+    public StringBuilder render(final TaskState state, final int indentLevel) {
+        return appendTask(startLine(indentLevel), state);
+    }
+
+    /**
+     * Appends the line of the given task to the given builder, without indent and line separator.
+     * @param builder the builder the line is appended to.
+     * @param task the task to be rendered.
+     * @return the given builder.
+     */
+    static StringBuilder appendTask(final StringBuilder builder, final Task task) {
+        builder.append(task.isDone() ? DONE_TASK_PREFIX : OPEN_TASK_PREFIX).append(task.getName())
+            .append(PRIORITY_REPRESENTATIONS[task.getPriority().ordinal()]);
+        int tagCount = task.getTagCount();
+        if (task.hasDeadline() || tagCount > 0) {
+            builder.append(DATE_TAG_SEPARATOR);
+        }
+        if (tagCount > 0) {
+            builder.append(TAGS_PREFIX);
+            for (int i = 0; i < tagCount; i++) {
+                if (i > 0) {
+                    builder.append(TAG_SEPARATOR);
+                }
+                builder.append(task.getTag(i));
+            }
+            builder.append(TAGS_SUFFIX);
+        }
+        if (task.hasDeadline()) {
+            builder.append(DEADLINE_PREFIX);
+            appendDate(builder, task.getDeadlineDay());
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the line of the given state of a task to the given builder, without indent and line separator.
+     * @param builder the builder the line is appended to.
+     * @param state the state of the task to be rendered.
+     * @return the given builder.
+     */
+    static StringBuilder appendTask(final StringBuilder builder, final TaskState state) {
+        builder.append(state.isDone() ? DONE_TASK_PREFIX : OPEN_TASK_PREFIX).append(state.getName())
+            .append(PRIORITY_REPRESENTATIONS[state.getPriority().ordinal()]);
+        int tagCount = state.getTagCount();
+        if (state.hasDeadline() || tagCount > 0) {
+            builder.append(DATE_TAG_SEPARATOR);
+        }
+        if (tagCount > 0) {
+            builder.append(TAGS_PREFIX);
+            for (int i = 0; i < tagCount; i++) {
+                if (i > 0) {
+                    builder.append(TAG_SEPARATOR);
+                }
+                builder.append(state.getTag(i));
+            }
+            builder.append(TAGS_SUFFIX);
+        }
+        if (state.hasDeadline()) {
+            builder.append(DEADLINE_PREFIX);
+            appendDate(builder, state.getDeadlineDay());
+        }
+        return builder;
+    }
+
+    private StringBuilder startLine(final int indentLevel) {
+        int indentLength = indentLevel * INDENT.length();
+        if (indentLength > this.indents.length()) {
+            this.indents = INDENT.repeat(Math.max(indentLevel, this.indents.length() / INDENT.length() * 2));
+        }
+        this.line.setLength(0);
+        return this.line.append(this.indents, 0, indentLength);
+    }
+
+    private static void appendDate(final StringBuilder builder, final long epochDay) {
+        //The date is written like LocalDate.toString, it is computed counting the years from March on.
+        long days = epochDay + DAYS_FROM_MARCH_ZERO;
+        long era = Math.floorDiv(days, DAYS_PER_ERA);
+        long dayOfEra = days - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / DAYS_PER_FOUR_YEARS + dayOfEra / DAYS_PER_CENTURY
+            - dayOfEra / (DAYS_PER_ERA - 1)) / DAYS_PER_YEAR;
+        long dayOfYear = dayOfEra - (DAYS_PER_YEAR * yearOfEra + yearOfEra / YEARS_PER_LEAP_YEAR
+            - yearOfEra / YEARS_PER_CENTURY);
+        long monthFromMarch = (MONTHS_PER_FIVE_MONTHS * dayOfYear + MONTH_ROUNDING) / DAYS_PER_FIVE_MONTHS;
+        int day = (int) (dayOfYear - (DAYS_PER_FIVE_MONTHS * monthFromMarch + MONTH_ROUNDING)
+            / MONTHS_PER_FIVE_MONTHS + 1);
+        int month = (int) (monthFromMarch < MONTHS_FROM_MARCH_TO_DECEMBER ? monthFromMarch + MARCH
+            : monthFromMarch + MARCH - MONTHS_PER_YEAR);
+        long year = yearOfEra + era * YEARS_PER_ERA + (month <= FEBRUARY ? 1 : 0);
+        if (year < 0 || year > LAST_FOUR_DIGIT_YEAR) {
+            //The years with a sign or more digits are rare, they are left to LocalDate.
+            builder.append(LocalDate.ofEpochDay(epochDay));
+            return;
+        }
+        if (year < FOUR_DIGITS) {
+            builder.append(ZERO);
+        }
+        if (year < THREE_DIGITS) {
+            builder.append(ZERO);
+        }
+        if (year < TWO_DIGITS) {
+            builder.append(ZERO);
+        }
+        builder.append(year).append(DATE_SEPARATOR);
+        appendTwoDigits(builder, month);
+        builder.append(DATE_SEPARATOR);
+        appendTwoDigits(builder, day);
+    }
+
+    private static void appendTwoDigits(final StringBuilder builder, final int number) {
+        if (number < TWO_DIGITS) {
+            builder.append(ZERO);
+        }
+        builder.append(number);
+    }
+}
@@ -0,0 +1,45 @@
+package edu.kit.kastel.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the result of a query selecting tasks, as states taken from a single snapshot of the system.
+ * The selected tasks and their subtasks are read from the same version, so the printed task trees stay
+ *    consistent while the system is changed.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskSelection {
+    private final TasksSnapshot snapshot;
+    /**
+     * The states of the selected tasks, in the order they are shown.
+     */
+    private final List<TaskState> tasks;
+
+    /**
+     * Constructs a new selection of tasks.
+     * @param snapshot the snapshot the states were taken from.
+     * @param tasks the states of the selected tasks, in the order they are shown.
+     */
+    TaskSelection(final TasksSnapshot snapshot, final List<TaskState> tasks) {
+        this.snapshot = snapshot;
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Returns the snapshot the selected tasks were taken from, their subtasks are read from it.
+     * @return the snapshot of the selection.
+     */
+    public TasksSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Returns the states of the selected tasks, in the order they are shown.
+     * @return a read-only list of the states.
+     */
+    public List<TaskState> getTasks() {
+        return this.tasks;
+    }
+}
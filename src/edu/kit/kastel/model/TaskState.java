@@ -0,0 +1,201 @@
+package edu.kit.kastel.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the state of a single task in one version of the system, as it is read from a snapshot.
+ * A state is never changed, a change of the task creates a new state for the next snapshot instead.
+ *    The subtasks of the state are a frozen version of the subtasks of the task, which is shared with the task
+ *    as long as the subtasks do not change.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskState {
+    /**
+     * The task number used when the task has no parent task, task numbers start at 1.
+     */
+    static final int NO_PARENT = 0;
+    private final int taskNumber;
+    private final String name;
+    private final Priority priority;
+    private final boolean done;
+    private final boolean deleted;
+    private final boolean restored;
+    private final boolean openSubTasks;
+    /**
+     * The deadline of the task as epoch day, Task.NO_DEADLINE if the task has none.
+     */
+    private final long deadlineDay;
+    /**
+     * The tags of the task, in the order the task was tagged.
+     */
+    private final String[] tags;
+    /**
+     * The names of the TaskLists the task was directly added to, in the order it was added to them.
+     */
+    private final String[] taskListNames;
+    private final int parentNumber;
+    /**
+     * The root of the frozen subtasks of the task, null if the task has no subtasks.
+     */
+    private final TaskTreap.Node subTasks;
+
+    /**
+     * Constructs a new state of a task.
+     * @param task the task, its other fields are given separately since they are read by the task itself.
+     * @param done indicates whether the task is done.
+     * @param deleted indicates whether the task is deleted.
+     * @param openSubTasks indicates whether the task has an undone and not deleted subtask.
+     * @param tags the tags of the task, which must not be changed.
+     * @param taskListNames the names of the TaskLists the task was directly added to, which must not be changed.
+     * @param parentNumber the task number of the parent task, NO_PARENT if the task has none.
+     * @param subTasks the root of the frozen subtasks of the task.
+     */
+    TaskState(final Task task, final boolean done, final boolean deleted, final boolean openSubTasks,
+              final String[] tags, final String[] taskListNames, final int parentNumber,
+              final TaskTreap.Node subTasks) {
+        this.taskNumber = task.getTaskNumber();
+        this.name = task.getName();
+        this.priority = task.getPriority();
+        this.deadlineDay = task.getDeadlineDay();
+        this.restored = task.isRestored();
+        this.done = done;
+        this.deleted = deleted;
+        this.openSubTasks = openSubTasks;
+        this.tags = tags;
+        this.taskListNames = taskListNames;
+        this.parentNumber = parentNumber;
+        this.subTasks = subTasks;
+    }
+
+    /**
+     * Returns the task number.
+     * @return the task number.
+     */
+    public int getTaskNumber() {
+        return this.taskNumber;
+    }
+
+    /**
+     * Returns the name of the task.
+     * @return the name of the task.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the priority of the task.
+     * @return the priority of the task.
+     */
+    public Priority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Checks if the task is done.
+     * @return true if the task is done, false otherwise.
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * Checks if the task is deleted.
+     * @return true if the task is deleted, false otherwise.
+     */
+    public boolean isDeleted() {
+        return this.deleted;
+    }
+
+    /**
+     * Checks if the task was restored after it was deleted.
+     * @return true if the task was restored, false otherwise.
+     */
+    public boolean isRestored() {
+        return this.restored;
+    }
+
+    /**
+     * Checks if any task below the task, in any level, is undone and not deleted.
+     * @return true if the task has an undone and not deleted subtask, false otherwise.
+     */
+    public boolean hasOpenSubTasks() {
+        return this.openSubTasks;
+    }
+
+    /**
+     * Checks if the task has a dead line.
+     * @return true if the task has a dead line, false otherwise.
+     */
+    public boolean hasDeadline() {
+        return this.deadlineDay != Task.NO_DEADLINE;
+    }
+
+    /**
+     * Returns the dead line of the task as epoch day.
+     * @return the epoch day of the dead line, Task.NO_DEADLINE if the task has none.
+     */
+    public long getDeadlineDay() {
+        return this.deadlineDay;
+    }
+
+    /**
+     * Returns the number of the tags of the task.
+     * @return the number of the tags.
+     */
+    public int getTagCount() {
+        return this.tags.length;
+    }
+
+    /**
+     * Returns the tag at the given position, in the order the task was tagged.
+     * @param index the position of the tag.
+     * @return the tag at the position.
+     */
+    public String getTag(final int index) {
+        return this.tags[index];
+    }
+
+    /**
+     * Returns the tags of the task, in the order the task was tagged.
+     * @return a read-only list of the tags.
+     */
+    public List<String> getTags() {
+        return Collections.unmodifiableList(Arrays.asList(this.tags));
+    }
+
+    /**
+     * Returns the names of the TaskLists the task was directly added to, in the order it was added to them.
+     * @return a read-only list of the names of the TaskLists.
+     */
+    public List<String> getTaskListNames() {
+        return Collections.unmodifiableList(Arrays.asList(this.taskListNames));
+    }
+
+    /**
+     * Checks if the task has a parent task.
+     * @return true if the task has a parent task, false otherwise.
+     */
+    public boolean hasParent() {
+        return this.parentNumber != NO_PARENT;
+    }
+
+    /**
+     * Returns the task number of the parent task.
+     * @return the task number of the parent task, 0 if the task has none.
+     */
+    public int getParentNumber() {
+        return this.parentNumber;
+    }
+
+    /**
+     * Returns the root of the frozen subtasks of the task.
+     * @return the root of the subtasks, null if the task has no subtasks.
+     */
+    TaskTreap.Node getSubTasks() {
+        return this.subTasks;
+    }
+}
@@ -0,0 +1,129 @@
+package edu.kit.kastel.model;
+
+/**
+ * Represents the states of all the tasks of the system keyed by their task number, stored in a persistent trie.
+ * Every node of the trie has 32 children, so a state is found after a few steps. Like in the TaskTreap,
+ *    a change copies only the nodes on the path to the changed state and the nodes of the current edit are
+ *    changed in place, so a frozen version of the table is never changed and shares all the other nodes.
+ * @author ucxug
+ * @version 1.0
+ */
+final class TaskStateTable {
+    /**
+     * The number of bits of the task number used by every level of the trie.
+     */
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private Node root;
+    /**
+     * The number of bits the task number is shifted by to get the child of the root.
+     */
+    private int shift;
+    /**
+     * The token of the current edit, null if the table was frozen and not changed since.
+     */
+    private Object edit;
+
+    /**
+     * Sets the state of the task with the given number.
+     * @param taskNumber the task number.
+     * @param state the new state of the task, null to remove the state.
+     */
+    void put(final int taskNumber, final TaskState state) {
+        if (this.root == null) {
+            this.root = new Node(getEdit());
+        }
+        while ((taskNumber >>> this.shift) >= WIDTH) {
+            //The trie grows by one level, the old root becomes the first child of the new root.
+            Node newRoot = new Node(getEdit());
+            newRoot.children[0] = this.root;
+            this.root = newRoot;
+            this.shift += BITS;
+        }
+        this.root = put(this.root, this.shift, taskNumber, state);
+    }
+
+    /**
+     * Freezes the current version of the table, the later changes copy the nodes instead of changing them.
+     * @return the frozen version of the table.
+     */
+    Version freeze() {
+        this.edit = null;
+        return new Version(this.root, this.shift);
+    }
+
+    private Node put(final Node node, final int level, final int taskNumber, final TaskState state) {
+        Object currentEdit = getEdit();
+        Node editableNode;
+        if (node == null) {
+            editableNode = new Node(currentEdit);
+        } else {
+            editableNode = node.edit == currentEdit ? node : new Node(node, currentEdit);
+        }
+        int index = (taskNumber >>> level) & MASK;
+        if (level == 0) {
+            editableNode.children[index] = state;
+        } else {
+            editableNode.children[index] = put((Node) editableNode.children[index], level - BITS, taskNumber, state);
+        }
+        return editableNode;
+    }
+
+    private Object getEdit() {
+        if (this.edit == null) {
+            this.edit = new Object();
+        }
+        return this.edit;
+    }
+
+    /**
+     * Represents a frozen version of the table, it is never changed.
+     */
+    static final class Version {
+        private final Node root;
+        private final int shift;
+
+        private Version(final Node root, final int shift) {
+            this.root = root;
+            this.shift = shift;
+        }
+
+        /**
+         * Returns the state of the task with the given number.
+         * @param taskNumber the task number.
+         * @return the state of the task, null if the version has no task with the number.
+         */
+        TaskState get(final int taskNumber) {
+            if (this.root == null || taskNumber < 0 || (taskNumber >>> this.shift) >= WIDTH) {
+                return null;
+            }
+            Node node = this.root;
+            for (int level = this.shift; level > 0; level -= BITS) {
+                node = (Node) node.children[(taskNumber >>> level) & MASK];
+                if (node == null) {
+                    return null;
+                }
+            }
+            return (TaskState) node.children[taskNumber & MASK];
+        }
+    }
+
+    /**
+     * Represents a node of the trie, its children are nodes or, on the lowest level, states.
+     */
+    private static final class Node {
+        private final Object edit;
+        private final Object[] children;
+
+        private Node(final Object edit) {
+            this.edit = edit;
+            this.children = new Object[WIDTH];
+        }
+
+        private Node(final Node node, final Object edit) {
+            this.edit = edit;
+            this.children = node.children.clone();
+        }
+    }
+}
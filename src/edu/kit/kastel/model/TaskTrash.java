@@ -0,0 +1,122 @@
+package edu.kit.kastel.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents the trash of the deleted tasks.
+ * The deleted tasks are kept apart from the tasks of the system, so that they can still be restored
+ *    without slowing down the other tasks. The tasks are kept in the order they were deleted.
+ * The order is also kept in a persistent treap keyed by the time of the deletion, so a frozen version of the
+ *    trash can be shared by the snapshots of the system without copying it.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskTrash {
+    /**
+     * The deleted tasks, keyed by their task number.
+     */
+    private final Map<Integer, Task> deletedTasks;
+    /**
+     * The key of every deleted task in the order, keyed by the task number.
+     */
+    private final Map<Integer, Long> deletionKeys;
+    /**
+     * The deleted tasks, keyed by the order they were deleted.
+     */
+    private final TaskTreap order;
+    private long lastDeletionKey;
+    /**
+     * The maximal number of deleted tasks kept in the trash.
+     */
+    private final int maximalSize;
+
+    /**
+     * Constructs a new empty TaskTrash.
+     * @param maximalSize the maximal number of deleted tasks kept in the trash.
+     */
+    public TaskTrash(final int maximalSize) {
+        this.deletedTasks = new LinkedHashMap<>();
+        this.deletionKeys = new HashMap<>();
+        this.order = new TaskTreap();
+        this.maximalSize = maximalSize;
+    }
+
+    /**
+     * Adds a deleted task to the trash.
+     * @param task the deleted task to be added.
+     */
+    public void add(final Task task) {
+        //A task added again keeps its position, like in the map.
+        if (this.deletedTasks.put(task.getTaskNumber(), task) == null) {
+            this.lastDeletionKey++;
+            this.deletionKeys.put(task.getTaskNumber(), this.lastDeletionKey);
+            this.order.put(this.lastDeletionKey, task);
+        }
+    }
+
+    /**
+     * Removes a task from the trash.
+     * @param task the task to be removed.
+     */
+    public void remove(final Task task) {
+        if (this.deletedTasks.remove(task.getTaskNumber()) != null) {
+            this.order.remove(this.deletionKeys.remove(task.getTaskNumber()));
+        }
+    }
+
+    /**
+     * Checks if the trash contains the given task.
+     * @param task the task to be checked.
+     * @return true if the trash contains the task, false otherwise.
+     */
+    public boolean contains(final Task task) {
+        return this.deletedTasks.get(task.getTaskNumber()) == task;
+    }
+
+    /**
+     * Returns the deleted task with the given task number.
+     * @param taskNumber the task number to be checked.
+     * @return the deleted task matching the task number, null if the trash does not contain it.
+     */
+    public Task get(final int taskNumber) {
+        return this.deletedTasks.get(taskNumber);
+    }
+
+    /**
+     * Returns the task that was deleted first.
+     * @return the task that was deleted first, null if the trash is empty.
+     */
+    public Task getOldest() {
+        if (this.deletedTasks.isEmpty()) {
+            return null;
+        }
+        return this.deletedTasks.values().iterator().next();
+    }
+
+    /**
+     * Returns a read-only view of the deleted tasks in the order they were deleted, the tasks are not copied.
+     * @return a read-only view of the deleted tasks.
+     */
+    public Iterable<Task> getView() {
+        return Collections.unmodifiableCollection(this.deletedTasks.values());
+    }
+
+    /**
+     * Freezes the current version of the trash, it is not changed by the later changes of the trash.
+     * @return the root of the frozen deleted tasks in the order they were deleted, null if the trash is empty.
+     */
+    TaskTreap.Node freeze() {
+        return this.order.freeze();
+    }
+
+    /**
+     * Checks if the trash contains more deleted tasks than it should keep.
+     * @return true if the trash contains more than the maximal number of tasks, false otherwise.
+     */
+    public boolean isOverfull() {
+        return this.deletedTasks.size() > this.maximalSize;
+    }
+}
@@ -0,0 +1,277 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a persistent treap of tasks sorted by a key, the tree every OrderedTasks collection is stored in.
+ * A change copies only the nodes on the path to the changed node, all the other nodes are shared with the earlier
+ *    versions of the treap. So the root returned by freeze never changes and can be read without any lock,
+ *    while the treap itself is changed further.
+ * The nodes created or copied since the last freeze belong to the current edit and are changed in place, so many
+ *    changes between two freezes copy every node at most once. Many new tasks are loaded at once from their
+ *    sorted keys and joined with the treap, instead of inserting them one by one.
+ * The treap is balanced by a rank derived from the key of every node, so it does not depend on a random generator.
+ * @author ucxug
+ * @version 1.0
+ */
+final class TaskTreap {
+    private static final long RANK_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int RANK_SHIFT = 32;
+    private Node root;
+    /**
+     * The token of the current edit, null if the treap was frozen and not changed since.
+     */
+    private Object edit;
+
+    /**
+     * Adds a task with the given key, no other task of the treap may have the same key.
+     * @param key the key of the task.
+     * @param task the task to be added.
+     */
+    void put(final long key, final Task task) {
+        this.root = insert(this.root, key, task, rank(key));
+    }
+
+    /**
+     * Adds the tasks with the given keys at once, no task of the treap may have one of the keys.
+     * The new nodes are linked into a treap of their own in one pass over the sorted keys, which is then joined
+     *    with the treap, so a node of the treap is copied at most once and only where new nodes are placed below it.
+     * @param keys the keys of the tasks, in ascending order.
+     * @param tasks the tasks, each at the position of its key.
+     */
+    void putAll(final long[] keys, final Task[] tasks) {
+        this.root = union(this.root, build(keys, tasks));
+    }
+
+    /**
+     * Removes the task with the given key, if there is one.
+     * @param key the key of the task to be removed.
+     */
+    void remove(final long key) {
+        this.root = delete(this.root, key);
+    }
+
+    /**
+     * Returns the current root of the treap, it is changed by the later changes of the treap.
+     * @return the current root, null if the treap is empty.
+     */
+    Node getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Freezes the current root of the treap, the later changes copy the nodes instead of changing them.
+     * @return the frozen root, null if the treap is empty.
+     */
+    Node freeze() {
+        this.edit = null;
+        return this.root;
+    }
+
+    /**
+     * Returns an iterator over the nodes below the given root, in the order of their keys.
+     * @param root the root of the nodes.
+     * @return an iterator over the nodes.
+     */
+    static Iterator<Node> iterator(final Node root) {
+        return new Iterator<>() {
+            //The nodes whose left subtree was visited, but not the node itself and its right subtree.
+            private final Deque<Node> path = new ArrayDeque<>();
+            private Node next = root;
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null || !this.path.isEmpty();
+            }
+
+            @Override
+            public Node next() {
+                while (this.next != null) {
+                    this.path.push(this.next);
+                    this.next = this.next.left;
+                }
+                if (this.path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = this.path.pop();
+                this.next = node.right;
+                return node;
+            }
+        };
+    }
+
+    private Node insert(final Node node, final long key, final Task task, final int rank) {
+        if (node == null) {
+            return new Node(key, task, rank, getEdit());
+        }
+        Node editableNode = editable(node);
+        if (key < editableNode.key) {
+            editableNode.left = insert(editableNode.left, key, task, rank);
+            if (editableNode.left.rank > editableNode.rank) {
+                //The left child is editable, since it was just inserted into.
+                Node left = editableNode.left;
+                editableNode.left = left.right;
+                left.right = editableNode;
+                return left;
+            }
+        } else {
+            editableNode.right = insert(editableNode.right, key, task, rank);
+            if (editableNode.right.rank > editableNode.rank) {
+                Node right = editableNode.right;
+                editableNode.right = right.left;
+                right.left = editableNode;
+                return right;
+            }
+        }
+        return editableNode;
+    }
+
+    private Node build(final long[] keys, final Task[] tasks) {
+        //The right spine of the nodes built so far, a new node takes the nodes of a lower rank as its left subtree
+        //and becomes the right child of the last node with a higher rank.
+        Deque<Node> spine = new ArrayDeque<>();
+        Object currentEdit = getEdit();
+        for (int i = 0; i < keys.length; i++) {
+            Node node = new Node(keys[i], tasks[i], rank(keys[i]), currentEdit);
+            while (!spine.isEmpty() && spine.peek().rank < node.rank) {
+                node.left = spine.pop();
+            }
+            if (!spine.isEmpty()) {
+                spine.peek().right = node;
+            }
+            spine.push(node);
+        }
+        return spine.peekLast();
+    }
+
+    private Node union(final Node first, final Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        Node top = first.rank >= second.rank ? first : second;
+        Node[] parts = split(top == first ? second : first, top.key);
+        Node editableTop = editable(top);
+        editableTop.left = union(top.left, parts[0]);
+        editableTop.right = union(top.right, parts[1]);
+        return editableTop;
+    }
+
+    /**
+     * Splits the nodes into the nodes with a lower key and the nodes with a higher key than the given key,
+     *    which no node has.
+     */
+    private Node[] split(final Node node, final long key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        Node editableNode = editable(node);
+        Node[] parts;
+        if (node.key < key) {
+            parts = split(node.right, key);
+            editableNode.right = parts[0];
+            parts[0] = editableNode;
+        } else {
+            parts = split(node.left, key);
+            editableNode.left = parts[1];
+            parts[1] = editableNode;
+        }
+        return parts;
+    }
+
+    private Node delete(final Node node, final long key) {
+        if (node == null) {
+            return null;
+        }
+        if (key == node.key) {
+            return merge(node.left, node.right);
+        }
+        Node editableNode = editable(node);
+        if (key < node.key) {
+            editableNode.left = delete(node.left, key);
+        } else {
+            editableNode.right = delete(node.right, key);
+        }
+        return editableNode;
+    }
+
+    private Node merge(final Node left, final Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.rank > right.rank) {
+            Node editableLeft = editable(left);
+            editableLeft.right = merge(left.right, right);
+            return editableLeft;
+        }
+        Node editableRight = editable(right);
+        editableRight.left = merge(left, right.left);
+        return editableRight;
+    }
+
+    private Node editable(final Node node) {
+        Object currentEdit = getEdit();
+        return node.edit == currentEdit ? node : new Node(node, currentEdit);
+    }
+
+    private Object getEdit() {
+        if (this.edit == null) {
+            this.edit = new Object();
+        }
+        return this.edit;
+    }
+
+    private static int rank(final long key) {
+        long mixed = key * RANK_MULTIPLIER;
+        return (int) (mixed ^ (mixed >>> RANK_SHIFT));
+    }
+
+    /**
+     * Represents a node of the treap. A node that does not belong to the current edit of its treap is never changed.
+     */
+    static final class Node {
+        private final long key;
+        private final Task task;
+        private final int rank;
+        private final Object edit;
+        private Node left;
+        private Node right;
+
+        private Node(final long key, final Task task, final int rank, final Object edit) {
+            this.key = key;
+            this.task = task;
+            this.rank = rank;
+            this.edit = edit;
+        }
+
+        private Node(final Node node, final Object edit) {
+            this(node.key, node.task, node.rank, edit);
+            this.left = node.left;
+            this.right = node.right;
+        }
+
+        /**
+         * Returns the key of the task of the node.
+         * @return the key of the task.
+         */
+        long getKey() {
+            return this.key;
+        }
+
+        /**
+         * Returns the task of the node.
+         * @return the task.
+         */
+        Task getTask() {
+            return this.task;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents a read-only snapshot of one version of the system: the states of all the tasks, the order of the
+ *    tasks in the system, the order of the subtasks of every task, the deleted tasks and the TaskLists.
+ * A snapshot is never changed after it was taken, so a long query can read it without holding any lock
+ *    while the system is changed. The snapshot does not copy the tasks, it consists of frozen versions of the
+ *    persistent collections of the system, which share every part that did not change with the older and the
+ *    newer snapshots. So a snapshot only costs the states of the tasks changed since the previous snapshot.
+ * A snapshot is no longer used once a newer version was taken and no query reads it anymore, then it is
+ *    reclaimed like any other unreachable object.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TasksSnapshot {
+    /**
+     * The version of the system the snapshot was taken from.
+     */
+    private final long version;
+    /**
+     * The states of all the tasks of the system, including the deleted tasks.
+     */
+    private final TaskStateTable.Version states;
+    /**
+     * The root of the not deleted tasks of the system, in the order they are shown.
+     */
+    private final TaskTreap.Node tasks;
+    /**
+     * The root of the deleted tasks that can still be restored, in the order they were deleted.
+     */
+    private final TaskTreap.Node deletedTasks;
+    /**
+     * The states of the TaskLists of the system, in the order they were added.
+     */
+    private final List<TaskListState> taskLists;
+
+    /**
+     * Constructs a new snapshot of frozen versions of the collections of the system.
+     * @param version the version of the system the snapshot is taken from.
+     * @param states the states of all the tasks of the system.
+     * @param tasks the root of the not deleted tasks of the system.
+     * @param deletedTasks the root of the deleted tasks of the system.
+     * @param taskLists the states of the TaskLists of the system.
+     */
+    TasksSnapshot(final long version, final TaskStateTable.Version states, final TaskTreap.Node tasks,
+                  final TaskTreap.Node deletedTasks, final List<TaskListState> taskLists) {
+        this.version = version;
+        this.states = states;
+        this.tasks = tasks;
+        this.deletedTasks = deletedTasks;
+        this.taskLists = Collections.unmodifiableList(taskLists);
+    }
+
+    /**
+     * Returns the version of the system the snapshot was taken from.
+     * @return the version of the snapshot.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Returns the states of the not deleted tasks of the system when the snapshot was taken, in the order they
+     *    are shown.
+     * @return a read-only view of the states of the tasks.
+     */
+    public Iterable<TaskState> getTasks() {
+        return getStates(this.tasks);
+    }
+
+    /**
+     * Returns the states of the not deleted tasks of the system in the order they were added, a task moved to the
+     *    end counts as added again. Adding the tasks in this order to an empty system restores its order.
+     * @return a new list of the states of the tasks.
+     */
+    public List<TaskState> getTasksInAddedOrder() {
+        return getStates(OrderedTasks.inAddedOrder(this.tasks));
+    }
+
+    /**
+     * Returns the states of the deleted tasks that could still be restored, in the order they were deleted.
+     * @return a read-only view of the states of the deleted tasks.
+     */
+    public Iterable<TaskState> getDeletedTasks() {
+        return getStates(this.deletedTasks);
+    }
+
+    /**
+     * Returns the states of the TaskLists of the system, in the order they were added.
+     * @return a read-only list of the states of the TaskLists.
+     */
+    public List<TaskListState> getTaskLists() {
+        return this.taskLists;
+    }
+
+    /**
+     * Returns the states of the tasks of the given TaskList in the order they were added, including the deleted
+     *    tasks.
+     * @param taskList the state of the TaskList, taken from this snapshot.
+     * @return a new list of the states of the tasks.
+     */
+    public List<TaskState> getTasksInAddedOrder(final TaskListState taskList) {
+        return getStates(OrderedTasks.inAddedOrder(taskList.getTasks()));
+    }
+
+    /**
+     * Returns the states of the subtasks of the given task in the order they were added, including the deleted
+     *    subtasks.
+     * @param state the state of the task whose subtasks are returned, taken from this snapshot.
+     * @return a new list of the states of the subtasks.
+     */
+    public List<TaskState> getSubTasksInAddedOrder(final TaskState state) {
+        return getStates(OrderedTasks.inAddedOrder(state.getSubTasks()));
+    }
+
+    /**
+     * Returns the states of the subtasks the given task had when the snapshot was taken, in the order they are
+     *    shown. The deleted subtasks are included.
+     * @param state the state of the task whose subtasks are returned, taken from this snapshot.
+     * @return a read-only view of the states of the subtasks.
+     */
+    public Iterable<TaskState> getSubTasks(final TaskState state) {
+        return getStates(state.getSubTasks());
+    }
+
+    /**
+     * Returns the state of the task with the given number when the snapshot was taken.
+     * @param taskNumber the task number.
+     * @return the state of the task, null if the system had no task with the number.
+     */
+    public TaskState getState(final int taskNumber) {
+        return this.states.get(taskNumber);
+    }
+
+    /**
+     * Returns the state of the parent task of the given task when the snapshot was taken.
+     * @param state the state of the task, taken from this snapshot.
+     * @return the state of the parent task, null if the task had no parent task.
+     */
+    public TaskState getParent(final TaskState state) {
+        return state.hasParent() ? this.states.get(state.getParentNumber()) : null;
+    }
+
+    private List<TaskState> getStates(final List<Task> tasksToRead) {
+        List<TaskState> taskStates = new ArrayList<>(tasksToRead.size());
+        for (Task task : tasksToRead) {
+            taskStates.add(this.states.get(task.getTaskNumber()));
+        }
+        return taskStates;
+    }
+
+    private Iterable<TaskState> getStates(final TaskTreap.Node root) {
+        return () -> new Iterator<>() {
+            private final Iterator<TaskTreap.Node> nodes = TaskTreap.iterator(root);
+
+            @Override
+            public boolean hasNext() {
+                return this.nodes.hasNext();
+            }
+
+            @Override
+            public TaskState next() {
+                return TasksSnapshot.this.states.get(this.nodes.next().getTask().getTaskNumber());
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package edu.kit.kastel.model;
+
+import java.util.BitSet;
+
+/**
+ * Represents the tasks visited by a single query, for example the tasks that have already been printed.
+ * The tasks are marked in a bitset keyed by their task number, so every query has its own state and
+ *    nothing needs to be reset after the query.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class VisitedTasks {
+    /**
+     * The task numbers of the visited tasks.
+     */
+    private final BitSet visited;
+
+    /**
+     * Constructs a new VisitedTasks instance without visited tasks.
+     */
+    public VisitedTasks() {
+        this.visited = new BitSet();
+    }
+
+    /**
+     * Marks the given task as visited.
+     * @param task the task to be marked.
+     */
+    public void visit(final Task task) {
+        this.visited.set(task.getTaskNumber());
+    }
+
+    /**
+     * Checks if the given task has been visited.
+     * @param task the task to be checked, can be null.
+     * @return true if the task is not null and has been visited, false otherwise.
+     */
+    public boolean isVisited(final Task task) {
+        return task != null && this.visited.get(task.getTaskNumber());
+    }
+
+    /**
+     * Marks the task of the given state as visited.
+     * @param state the state of the task to be marked.
+     */
+    public void visit(final TaskState state) {
+        this.visited.set(state.getTaskNumber());
+    }
+
+    /**
+     * Checks if the task of the given state has been visited.
+     * @param state the state of the task to be checked, can be null.
+     * @return true if the state is not null and its task has been visited, false otherwise.
+     */
+    public boolean isVisited(final TaskState state) {
+        return state != null && this.visited.get(state.getTaskNumber());
+    }
+}
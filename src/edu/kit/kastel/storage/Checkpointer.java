@@ -0,0 +1,131 @@
+package edu.kit.kastel.storage;
+
+import edu.kit.kastel.model.Procrastinot;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents the checkpointer, which writes snapshots of the Procrastinot system and then truncates the journal.
+ * A checkpoint is made after a number of journaled commands. Only the capture of the state happens on the thread
+ *    of the commands, the capture takes the immutable snapshot of the current version of the system. The snapshot
+ *    is encoded and written and the journal is truncated on a separate thread, while the next commands are already
+ *    executed.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class Checkpointer implements AutoCloseable {
+    /**
+     * The number of journaled commands after which a checkpoint is made, when no other number is given.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10000;
+    private static final String CHECKPOINT_THREAD_NAME = "checkpointer";
+    private final Procrastinot procrastinot;
+    /**
+     * The journal to be truncated after a checkpoint, null if the commands are not journaled.
+     */
+    private final CommandJournal journal;
+    private final Path snapshotFile;
+    private final int checkpointInterval;
+    private final ExecutorService writer;
+    /**
+     * The checkpoint that is written at the moment, null if no checkpoint was started yet.
+     */
+    private Future<Void> runningCheckpoint;
+    /**
+     * The sequence number of the last journal record contained in the latest captured snapshot.
+     */
+    private long checkpointSequence;
+
+    /**
+     * Constructs a new Checkpointer.
+     * @param procrastinot the system to be checkpointed.
+     * @param journal the journal of the system, null if the commands are not journaled.
+     * @param snapshotFile the file of the snapshot.
+     * @param loadedSequence the sequence number of the last journal record contained in the loaded snapshot.
+     * @param checkpointInterval the number of journaled commands after which a checkpoint is made.
+     */
+    public Checkpointer(final Procrastinot procrastinot, final CommandJournal journal, final Path snapshotFile,
+                        final long loadedSequence, final int checkpointInterval) {
+        this.procrastinot = procrastinot;
+        this.journal = journal;
+        this.snapshotFile = snapshotFile;
+        this.checkpointSequence = loadedSequence;
+        this.checkpointInterval = checkpointInterval;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, CHECKPOINT_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a checkpoint if enough commands were journaled since the last one and the last one is written.
+     * This must be called on the thread of the commands, after a journaled command changed the system.
+     * @throws IOException if the last checkpoint failed.
+     */
+    public void commandJournaled() throws IOException {
+        if (this.journal == null || this.journal.getSequence() - this.checkpointSequence < this.checkpointInterval) {
+            return;
+        }
+        if (this.runningCheckpoint != null) {
+            if (!this.runningCheckpoint.isDone()) {
+                //The next checkpoint is started after a later command.
+                return;
+            }
+            awaitRunningCheckpoint();
+        }
+        startCheckpoint();
+    }
+
+    /**
+     * Waits for the running checkpoint and makes a last checkpoint, which is written before this method returns.
+     * @throws IOException if a checkpoint can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitRunningCheckpoint();
+            startCheckpoint();
+            awaitRunningCheckpoint();
+        } finally {
+            this.writer.shutdown();
+        }
+    }
+
+    private void startCheckpoint() {
+        long sequence = this.journal == null ? 0 : this.journal.getSequence();
+        SnapshotFile.Capture snapshot = SnapshotFile.capture(this.procrastinot, sequence);
+        this.checkpointSequence = sequence;
+        this.runningCheckpoint = this.writer.submit(() -> {
+            SnapshotFile.write(snapshot, this.snapshotFile);
+            //The records contained in the snapshot are only dropped once the snapshot is durable.
+            if (this.journal != null) {
+                this.journal.truncate(sequence);
+            }
+            return null;
+        });
+    }
+
+    private void awaitRunningCheckpoint() throws IOException {
+        if (this.runningCheckpoint == null) {
+            return;
+        }
+        try {
+            this.runningCheckpoint.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            this.runningCheckpoint = null;
+        }
+    }
+}
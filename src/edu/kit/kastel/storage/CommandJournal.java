@@ -0,0 +1,357 @@
+package edu.kit.kastel.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a binary write-ahead journal of the commands that changed the Procrastinot system.
+ * Every record holds the name and the arguments of one command, its length and a checksum, so that a record
+ *    that was only partly written before a crash is recognized and dropped when the journal is read.
+ * Every record has a sequence number, the records are numbered from 1 in the order they were appended.
+ *    The journal starts with a header holding the sequence number of the last record dropped by a truncation,
+ *    so the numbers stay the same when the records before a snapshot are dropped.
+ * Every record is handed to the operating system as soon as it is appended, so it survives a crash of the
+ *    program. The records are synced to the disk in groups: a sync is made after a number of records, and a
+ *    background thread syncs the records that are left unsynced for a time, so that the throughput of the commands
+ *    is not limited by the sync latency. Only the records appended since the last sync can be lost on a crash
+ *    of the whole system, closing the journal syncs all the records.
+ * A sync waits for the disk without holding the lock of the journal, so the records are appended while the
+ *    records before them are synced.
+ * The journal can be truncated by another thread than the one appending the records.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class CommandJournal implements AutoCloseable {
+    /**
+     * The number of records after which the journal is synced at the latest.
+     */
+    private static final int GROUP_COMMIT_RECORDS = 64;
+    /**
+     * The time in milliseconds after which the background thread syncs the unsynced records.
+     */
+    private static final long GROUP_COMMIT_INTERVAL_MILLIS = 50;
+    private static final String SYNC_THREAD_NAME = "journal-sync";
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * The first bytes of every journal file.
+     */
+    private static final int MAGIC = 0x50524a4e;
+    /**
+     * The length of the header, which holds the magic number and the sequence number of the last dropped record.
+     */
+    private static final int HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+    /**
+     * The largest number of the strings of a record, the name and the arguments of the command.
+     */
+    private static final int MAXIMAL_RECORD_STRINGS = 0xffff;
+    private static final String NOT_A_JOURNAL_ERROR = "%s is not a journal";
+    private static final String TOO_MANY_ARGUMENTS_ERROR = "a command with %d arguments can not be journaled";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private final Path journalFile;
+    private FileChannel channel;
+    private DataOutputStream output;
+    /**
+     * The sequence number of the last record dropped by a truncation.
+     */
+    private long firstSequence;
+    /**
+     * The sequence number of the last appended record.
+     */
+    private long sequence;
+    /**
+     * The sequence number of the last record synced to the disk.
+     */
+    private long syncedSequence;
+    /**
+     * The lock held while the journal is synced. It is taken before the lock of the journal, so a truncation or
+     *    closing does not close the channel while it is synced.
+     */
+    private final Object syncLock = new Object();
+    /**
+     * The thread syncing the records that were left unsynced by the commands.
+     */
+    private final ScheduledExecutorService syncer;
+    /**
+     * The error of the last failed background sync, null if it did not fail. It is thrown by the next append.
+     */
+    private IOException syncError;
+    private boolean closed;
+
+    /**
+     * Opens the journal stored in the given file, the file is created if it does not exist.
+     * A record at the end of the file that was not completely written is removed.
+     * @param journalFile the file of the journal.
+     * @throws IOException if the file can not be opened or is not a journal.
+     */
+    public CommandJournal(final Path journalFile) throws IOException {
+        this.journalFile = journalFile;
+        if (!Files.exists(journalFile) || Files.size(journalFile) == 0) {
+            writeJournalFile(0, new ArrayList<>());
+        }
+        open();
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SYNC_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncer.scheduleWithFixedDelay(this::syncInBackground, GROUP_COMMIT_INTERVAL_MILLIS,
+            GROUP_COMMIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the sequence number of the last appended record.
+     * @return the sequence number of the last record, 0 if no record was appended yet.
+     */
+    public synchronized long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Reads the complete records of the journal appended after the record of the given sequence number,
+     *    in the order they were appended.
+     * @param afterSequence the sequence number of the last record that is not read.
+     * @return a new list of the commands, each command is stored as its name followed by its arguments.
+     * @throws IOException if the journal can not be read.
+     */
+    public synchronized List<String[]> readCommands(final long afterSequence) throws IOException {
+        List<String[]> commands = new ArrayList<>();
+        for (byte[] record : readRecords(afterSequence)) {
+            DataInputStream recordInput = new DataInputStream(new ByteArrayInputStream(record));
+            String[] command = new String[recordInput.readUnsignedShort()];
+            for (int i = 0; i < command.length; i++) {
+                command[i] = recordInput.readUTF();
+            }
+            commands.add(command);
+        }
+        return commands;
+    }
+
+    /**
+     * Appends a command to the journal and hands the record to the operating system. The journal is synced if the
+     *    group of unsynced records is full, otherwise the record is synced by the background thread.
+     * @param commandName the name of the command.
+     * @param commandArguments the arguments of the command.
+     * @throws IOException if the record can not be written, the command has too many arguments or too long
+     *    arguments, or the last background sync failed.
+     */
+    public void append(final String commandName, final String[] commandArguments) throws IOException {
+        if (commandArguments.length + 1 > MAXIMAL_RECORD_STRINGS) {
+            throw new IOException(TOO_MANY_ARGUMENTS_ERROR.formatted(commandArguments.length));
+        }
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        record.writeShort(commandArguments.length + 1);
+        record.writeUTF(commandName);
+        for (String argument : commandArguments) {
+            record.writeUTF(argument);
+        }
+        boolean groupFull;
+        synchronized (this) {
+            throwSyncError();
+            writeRecord(this.output, recordBytes.toByteArray());
+            this.output.flush();
+            this.sequence++;
+            groupFull = this.sequence - this.syncedSequence >= GROUP_COMMIT_RECORDS;
+        }
+        if (groupFull) {
+            sync();
+        }
+    }
+
+    /**
+     * Writes all the appended records to the disk. The records appended while the disk is written are synced
+     *    by the next sync.
+     * @throws IOException if the records can not be written.
+     */
+    public void sync() throws IOException {
+        synchronized (this.syncLock) {
+            FileChannel syncedChannel;
+            long appendedSequence;
+            synchronized (this) {
+                this.output.flush();
+                syncedChannel = this.channel;
+                appendedSequence = this.sequence;
+            }
+            syncedChannel.force(false);
+            synchronized (this) {
+                this.syncedSequence = Math.max(this.syncedSequence, appendedSequence);
+            }
+        }
+    }
+
+    /**
+     * Drops the records up to the record of the given sequence number, because a snapshot contains their changes.
+     * The remaining records are written to a new file, which replaces the journal at once, so that a crash
+     *    leaves either the old or the new journal. If the new file can not be written, the old journal is kept open
+     *    and the records are still appended to it.
+     * @param upToSequence the sequence number of the last record to be dropped.
+     * @throws IOException if the journal can not be rewritten.
+     */
+    public void truncate(final long upToSequence) throws IOException {
+        synchronized (this.syncLock) {
+            synchronized (this) {
+                if (upToSequence <= this.firstSequence) {
+                    return;
+                }
+                sync();
+                List<byte[]> remainingRecords = readRecords(upToSequence);
+                //The new file replaces the journal before the old file is closed, so the journal stays open
+                //if it fails.
+                writeJournalFile(upToSequence, remainingRecords);
+                this.output.close();
+                open();
+            }
+        }
+    }
+
+    /**
+     * Syncs all the appended records and closes the journal.
+     * @throws IOException if the records can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.syncLock) {
+            synchronized (this) {
+                this.syncer.shutdown();
+                this.closed = true;
+                try {
+                    sync();
+                } finally {
+                    this.output.close();
+                }
+            }
+        }
+    }
+
+    private void syncInBackground() {
+        synchronized (this.syncLock) {
+            synchronized (this) {
+                if (this.closed || this.sequence == this.syncedSequence || this.syncError != null) {
+                    return;
+                }
+            }
+            try {
+                sync();
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.syncError = e;
+                }
+            }
+        }
+    }
+
+    private void throwSyncError() throws IOException {
+        if (this.syncError != null) {
+            IOException error = this.syncError;
+            this.syncError = null;
+            throw error;
+        }
+    }
+
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        DataInputStream input = openInput(0);
+        if (this.channel.size() < HEADER_LENGTH || input.readInt() != MAGIC) {
+            this.channel.close();
+            throw new IOException(NOT_A_JOURNAL_ERROR.formatted(this.journalFile));
+        }
+        this.firstSequence = input.readLong();
+        long validLength = HEADER_LENGTH;
+        this.sequence = this.firstSequence;
+        for (byte[] record = readRecord(input); record != null; record = readRecord(input)) {
+            //The length and the checksum of the record are stored as an int each.
+            validLength += record.length + Integer.BYTES + Integer.BYTES;
+            this.sequence++;
+        }
+        this.channel.truncate(validLength);
+        this.channel.position(validLength);
+        this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.channel),
+            BUFFER_SIZE));
+        this.syncedSequence = this.sequence;
+    }
+
+    private void writeJournalFile(final long droppedSequence, final List<byte[]> records) throws IOException {
+        Path temporaryFile = this.journalFile.resolveSibling(this.journalFile.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (FileChannel temporaryChannel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream temporaryOutput = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(temporaryChannel), BUFFER_SIZE));
+            temporaryOutput.writeInt(MAGIC);
+            temporaryOutput.writeLong(droppedSequence);
+            for (byte[] record : records) {
+                writeRecord(temporaryOutput, record);
+            }
+            temporaryOutput.flush();
+            temporaryChannel.force(false);
+        }
+        Files.move(temporaryFile, this.journalFile, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<byte[]> readRecords(final long afterSequence) throws IOException {
+        this.output.flush();
+        List<byte[]> records = new ArrayList<>();
+        DataInputStream input = openInput(HEADER_LENGTH);
+        long recordSequence = this.firstSequence;
+        for (byte[] record = readRecord(input); record != null; record = readRecord(input)) {
+            recordSequence++;
+            if (recordSequence > afterSequence) {
+                records.add(record);
+            }
+        }
+        this.channel.position(this.channel.size());
+        return records;
+    }
+
+    private DataInputStream openInput(final long position) throws IOException {
+        this.channel.position(position);
+        //The input stream is not closed, since closing it would close the channel.
+        InputStream channelInput = Channels.newInputStream(this.channel);
+        return new DataInputStream(new BufferedInputStream(channelInput, BUFFER_SIZE));
+    }
+
+    private void writeRecord(final DataOutputStream recordOutput, final byte[] record) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(record);
+        recordOutput.writeInt(record.length);
+        recordOutput.write(record);
+        recordOutput.writeInt((int) checksum.getValue());
+    }
+
+    private byte[] readRecord(final DataInputStream input) throws IOException {
+        try {
+            int length = input.readInt();
+            if (length < 0 || length > this.channel.size()) {
+                return null;
+            }
+            byte[] record = new byte[length];
+            input.readFully(record);
+            int storedChecksum = input.readInt();
+            CRC32 checksum = new CRC32();
+            checksum.update(record);
+            //A record with a wrong checksum was not completely written.
+            return storedChecksum == (int) checksum.getValue() ? record : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package edu.kit.kastel.storage;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskList;
+import edu.kit.kastel.model.TaskListState;
+import edu.kit.kastel.model.TaskState;
+import edu.kit.kastel.model.TasksSnapshot;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the binary snapshot file of the complete state of a Procrastinot system.
+ * The snapshot holds the tasks with their tags, done, deleted and restored status, the subtasks of every task,
+ *    the TaskLists with their tags and tasks and the sequence number of the last journal record whose changes
+ *    it contains.
+ * The tasks of the system are stored in the order they were added, followed by the deleted tasks in the order they
+ *    were deleted. The subtasks and the tasks of the lists are stored in the order they were added as well,
+ *    so adding them again in the stored order restores every order of the system, also after priority changes.
+ * The file is loaded through a memory mapping, so a large snapshot is read sequentially without copying it first.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class SnapshotFile {
+    /**
+     * The first bytes of every snapshot file.
+     */
+    private static final int MAGIC = 0x50525353;
+    private static final int FORMAT_VERSION = 1;
+    private static final int DONE_FLAG = 1;
+    private static final int DELETED_FLAG = 2;
+    private static final int RESTORED_FLAG = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String CLASS_NOT_INSTANTIATABLE = "Utility class cannot be initialized.";
+    private static final String NOT_A_SNAPSHOT_ERROR = "%s is not a snapshot";
+    private static final String SNAPSHOT_TOO_LARGE_ERROR = "%s is too large to be mapped";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private SnapshotFile() {
+        throw new IllegalStateException(CLASS_NOT_INSTANTIATABLE);
+    }
+
+    /**
+     * Captures the complete state of the given system for a snapshot file.
+     * The capture only takes the immutable snapshot of the current version of the system, it neither copies nor
+     *    encodes the tasks. So the system is only paused briefly, the snapshot is encoded and written afterwards,
+     *    while the system is changed.
+     * @param procrastinot the system to be captured.
+     * @param journalSequence the sequence number of the last journal record whose changes the system contains.
+     * @return the captured state.
+     */
+    public static Capture capture(final Procrastinot procrastinot, final long journalSequence) {
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+        //The task numbers handed out are only read after the snapshot, so they include all its tasks.
+        return new Capture(snapshot, procrastinot.getTaskAddedNumber(), journalSequence);
+    }
+
+    /**
+     * Encodes a captured state and writes it to the snapshot file. The snapshot is written to a new file first,
+     *    which replaces the old snapshot at once, so that a crash leaves either the old or the new snapshot.
+     * @param capture the captured state.
+     * @param snapshotFile the file of the snapshot.
+     * @throws IOException if the snapshot can not be written.
+     */
+    public static void write(final Capture capture, final Path snapshotFile) throws IOException {
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            //The output stream is not closed, since closing it would close the channel before it is forced.
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                BUFFER_SIZE));
+            encode(capture, output);
+            output.flush();
+            channel.force(false);
+        }
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the snapshot file into the given system, which must not contain any task or TaskList yet.
+     * @param snapshotFile the file of the snapshot.
+     * @param procrastinot the system the snapshot is loaded into.
+     * @return the sequence number of the last journal record whose changes the snapshot contains.
+     * @throws IOException if the snapshot can not be read.
+     */
+    public static long load(final Path snapshotFile, final Procrastinot procrastinot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(SNAPSHOT_TOO_LARGE_ERROR.formatted(snapshotFile));
+            }
+            MappedByteBuffer input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (input.remaining() < Integer.BYTES + Integer.BYTES || input.getInt() != MAGIC
+                || input.getInt() != FORMAT_VERSION) {
+                throw new IOException(NOT_A_SNAPSHOT_ERROR.formatted(snapshotFile));
+            }
+            long journalSequence = input.getLong();
+            int nextTaskNumber = input.getInt();
+            Task[] tasks = new Task[nextTaskNumber];
+            int[][] subTaskNumbers = new int[nextTaskNumber][];
+            int taskCount = input.getInt();
+            int[] deletedTaskNumbers = new int[taskCount];
+            int deletedTaskCount = 0;
+            for (int i = 0; i < taskCount; i++) {
+                int taskNumber = input.getInt();
+                Task task = new Task(readString(input), taskNumber);
+                task.setPriority(Priority.values()[input.get()]);
+                long deadlineDay = input.getLong();
+                task.setDeadLine(deadlineDay == Task.NO_DEADLINE ? null : LocalDate.ofEpochDay(deadlineDay));
+                int flags = input.get();
+                //The task has no subtasks yet, so its done status can be set before it is added.
+                task.setDone((flags & DONE_FLAG) != 0);
+                if ((flags & RESTORED_FLAG) != 0) {
+                    //The task is restored before it is added to its parent task, which orders it by the mark.
+                    task.setRestored();
+                }
+                procrastinot.addTask(task);
+                for (String tag : readStrings(input)) {
+                    procrastinot.tagTask(task, tag);
+                }
+                if ((flags & DELETED_FLAG) != 0) {
+                    deletedTaskNumbers[deletedTaskCount] = taskNumber;
+                    deletedTaskCount++;
+                }
+                subTaskNumbers[taskNumber] = readNumbers(input);
+                tasks[taskNumber] = task;
+            }
+            //The hierarchy is linked once all the tasks exist.
+            for (Task task : tasks) {
+                if (task != null) {
+                    for (int subTaskNumber : subTaskNumbers[task.getTaskNumber()]) {
+                        procrastinot.addSubTask(task, tasks[subTaskNumber]);
+                    }
+                }
+            }
+            for (int i = 0; i < deletedTaskCount; i++) {
+                procrastinot.addDeletedTask(tasks[deletedTaskNumbers[i]]);
+            }
+            int taskListCount = input.getInt();
+            for (int i = 0; i < taskListCount; i++) {
+                TaskList taskList = new TaskList(readString(input));
+                procrastinot.addList(taskList);
+                for (String tag : readStrings(input)) {
+                    procrastinot.tagList(taskList, tag);
+                }
+                for (int taskNumber : readNumbers(input)) {
+                    procrastinot.addToList(taskList, tasks[taskNumber]);
+                }
+            }
+            procrastinot.reserveTaskNumbers(nextTaskNumber);
+            return journalSequence;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException(NOT_A_SNAPSHOT_ERROR.formatted(snapshotFile), e);
+        }
+    }
+
+    private static void encode(final Capture capture, final DataOutputStream output) throws IOException {
+        TasksSnapshot snapshot = capture.snapshot;
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeLong(capture.journalSequence);
+        output.writeInt(capture.nextTaskNumber);
+        List<TaskState> tasks = snapshot.getTasksInAddedOrder();
+        List<TaskState> deletedTasks = new ArrayList<>();
+        for (TaskState task : snapshot.getDeletedTasks()) {
+            deletedTasks.add(task);
+        }
+        output.writeInt(tasks.size() + deletedTasks.size());
+        for (TaskState task : tasks) {
+            writeTask(output, task, snapshot);
+        }
+        for (TaskState task : deletedTasks) {
+            writeTask(output, task, snapshot);
+        }
+        output.writeInt(snapshot.getTaskLists().size());
+        for (TaskListState taskList : snapshot.getTaskLists()) {
+            writeString(output, taskList.getName());
+            writeStrings(output, taskList.getTags());
+            //The deleted tasks stay in the lists, so they are still there when they are restored.
+            writeNumbers(output, snapshot.getTasksInAddedOrder(taskList));
+        }
+    }
+
+    private static void writeTask(final DataOutputStream output, final TaskState task, final TasksSnapshot snapshot)
+        throws IOException {
+        output.writeInt(task.getTaskNumber());
+        writeString(output, task.getName());
+        output.writeByte(task.getPriority().ordinal());
+        output.writeLong(task.getDeadlineDay());
+        output.writeByte((task.isDone() ? DONE_FLAG : 0) | (task.isDeleted() ? DELETED_FLAG : 0)
+            | (task.isRestored() ? RESTORED_FLAG : 0));
+        writeStrings(output, task.getTags());
+        writeNumbers(output, snapshot.getSubTasksInAddedOrder(task));
+    }
+
+    private static void writeNumbers(final DataOutputStream output, final List<TaskState> tasks) throws IOException {
+        output.writeInt(tasks.size());
+        for (TaskState task : tasks) {
+            output.writeInt(task.getTaskNumber());
+        }
+    }
+
+    private static void writeStrings(final DataOutputStream output, final List<String> strings) throws IOException {
+        output.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(output, string);
+        }
+    }
+
+    private static void writeString(final DataOutputStream output, final String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static int[] readNumbers(final MappedByteBuffer input) {
+        int[] numbers = new int[input.getInt()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = input.getInt();
+        }
+        return numbers;
+    }
+
+    private static String[] readStrings(final MappedByteBuffer input) {
+        String[] strings = new String[input.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(input);
+        }
+        return strings;
+    }
+
+    private static String readString(final MappedByteBuffer input) {
+        byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Represents the captured state of a system, before it is encoded and written.
+     */
+    public static final class Capture {
+        private final TasksSnapshot snapshot;
+        private final int nextTaskNumber;
+        private final long journalSequence;
+
+        private Capture(final TasksSnapshot snapshot, final int nextTaskNumber, final long journalSequence) {
+            this.snapshot = snapshot;
+            this.nextTaskNumber = nextTaskNumber;
+            this.journalSequence = journalSequence;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.kit.kastel.storage;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.TaskState;
+import edu.kit.kastel.model.TasksSnapshot;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the export of all the tasks of the Procrastinot system as JSON lines.
+ * Every line is a JSON object of one task with its id, name, priority, deadline, done and deleted status,
+ *    the id of its parent task, its tags and the names of the TaskLists it was directly added to.
+ *    A missing priority, deadline or parent task is written as null.
+ * The tasks are read from a snapshot of the system, so the system is not locked while the file is written and
+ *    the exported tasks still belong to the same version. The tasks are written one after the other through
+ *    a buffered writer, no list of the tasks is built, so the memory needed does not grow with the number of tasks.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskExport {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String CLASS_NOT_INSTANTIATABLE = "Utility class cannot be initialized.";
+    private static final String ID_FIELD = "{\"id\":";
+    private static final String NAME_FIELD = ",\"name\":";
+    private static final String PRIORITY_FIELD = ",\"priority\":";
+    private static final String DEADLINE_FIELD = ",\"deadline\":";
+    private static final String DONE_FIELD = ",\"done\":";
+    private static final String DELETED_FIELD = ",\"deleted\":";
+    private static final String PARENT_FIELD = ",\"parent\":";
+    private static final String TAGS_FIELD = ",\"tags\":[";
+    private static final String LISTS_FIELD = "],\"lists\":[";
+    private static final String TASK_END = "]}\n";
+    private static final String NULL_VALUE = "null";
+    private static final char QUOTE = '"';
+    private static final char ESCAPE = '\\';
+    private static final char VALUE_SEPARATOR = ',';
+    private static final char LAST_CONTROL_CHARACTER = 0x1f;
+    private static final String UNICODE_ESCAPE_FORMAT = "\\u%04x";
+
+    private TaskExport() {
+        throw new IllegalStateException(CLASS_NOT_INSTANTIATABLE);
+    }
+
+    /**
+     * Exports all the tasks of the current version of the system to the given file, the file is replaced
+     *    if it exists. The system can be changed while the file is written, the changes are not exported.
+     * @param exportFile the file the tasks are exported to.
+     * @param procrastinot the system whose tasks are exported.
+     * @return the number of the exported tasks.
+     * @throws IOException if the file can not be written.
+     */
+    public static int exportFile(final Path exportFile, final Procrastinot procrastinot) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(exportFile),
+            StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return exportTasks(writer, procrastinot.getSnapshot());
+        }
+    }
+
+    /**
+     * Writes all the tasks of the given snapshot to the given writer, one JSON line per task, first the tasks
+     *    in the order they are shown and then the deleted tasks that can still be restored. The writer is not flushed.
+     * @param writer the writer the tasks are written to.
+     * @param snapshot the snapshot whose tasks are exported.
+     * @return the number of the exported tasks.
+     * @throws IOException if the tasks can not be written.
+     */
+    public static int exportTasks(final Writer writer, final TasksSnapshot snapshot) throws IOException {
+        int exportedTasks = 0;
+        for (TaskState task : snapshot.getTasks()) {
+            writeTask(writer, task);
+            exportedTasks++;
+        }
+        for (TaskState task : snapshot.getDeletedTasks()) {
+            writeTask(writer, task);
+            exportedTasks++;
+        }
+        return exportedTasks;
+    }
+
+    private static void writeTask(final Writer writer, final TaskState task) throws IOException {
+        writer.write(ID_FIELD);
+        writer.write(Integer.toString(task.getTaskNumber()));
+        writer.write(NAME_FIELD);
+        writeString(writer, task.getName());
+        writer.write(PRIORITY_FIELD);
+        if (task.getPriority() == Priority.ND) {
+            writer.write(NULL_VALUE);
+        } else {
+            writeString(writer, task.getPriority().getValue());
+        }
+        writer.write(DEADLINE_FIELD);
+        if (task.hasDeadline()) {
+            writeString(writer, LocalDate.ofEpochDay(task.getDeadlineDay()).toString());
+        } else {
+            writer.write(NULL_VALUE);
+        }
+        writer.write(DONE_FIELD);
+        writer.write(Boolean.toString(task.isDone()));
+        writer.write(DELETED_FIELD);
+        writer.write(Boolean.toString(task.isDeleted()));
+        writer.write(PARENT_FIELD);
+        writer.write(task.hasParent() ? Integer.toString(task.getParentNumber()) : NULL_VALUE);
+        writer.write(TAGS_FIELD);
+        writeStrings(writer, task.getTags());
+        writer.write(LISTS_FIELD);
+        writeStrings(writer, task.getTaskListNames());
+        writer.write(TASK_END);
+    }
+
+    private static void writeStrings(final Writer writer, final List<String> strings) throws IOException {
+        boolean first = true;
+        for (String string : strings) {
+            if (!first) {
+                writer.write(VALUE_SEPARATOR);
+            }
+            writeString(writer, string);
+            first = false;
+        }
+    }
+
+    private static void writeString(final Writer writer, final String string) throws IOException {
+        writer.write(QUOTE);
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            if (character == QUOTE || character == ESCAPE) {
+                writer.write(ESCAPE);
+                writer.write(character);
+            } else if (character <= LAST_CONTROL_CHARACTER) {
+                writer.write(UNICODE_ESCAPE_FORMAT.formatted((int) character));
+            } else {
+                writer.write(character);
+            }
+        }
+        writer.write(QUOTE);
+    }
+}
@@ -0,0 +1,438 @@
+package edu.kit.kastel.storage;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskBatch;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the bulk import of tasks and TaskLists from the records of a file into the Procrastinot system.
+ * The records are given one per line, the fields of a record are separated by tabs:
+ * <ul>
+ *     <li>{@code task, reference, name, priority, deadline, parent reference, done, tags}</li>
+ *     <li>{@code list, name, tags, task references}</li>
+ * </ul>
+ * The reference of a task is any text that is unique within the file. The priority, the deadline (yyyy-MM-dd),
+ *    the parent and the tags of a task can be left empty, done is {@code 1} for a done task.
+ *    The tags and the task references of a list are separated by commas, the fields at the end can be left out.
+ *    A parent task and the tasks of a list must be defined in an earlier line. Empty lines are skipped.
+ * The names and the tags are checked like the ones given to the commands add, tag and add-list, and a task or
+ *    a list must not be given the same tag twice.
+ * The file is read twice line by line, it is never held in memory. The first pass checks all the records, so
+ *    invalid records do not change the system. The second pass reads the records in batches of a fixed size, each
+ *    batch is added while the system is locked once and then dropped, only the references of the tasks are kept.
+ *    A batch is read in its journal form, where the references are replaced by the task numbers of the tasks
+ *    of earlier batches or by the positions of the tasks in the batch, so it can be added again without the file.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class TaskImport implements AutoCloseable {
+    private static final String TASK_RECORD = "task";
+    private static final String LIST_RECORD = "list";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String VALUE_SEPARATOR = ",";
+    private static final String DONE_VALUE = "1";
+    private static final String TASK_NAME_REGEX = ".*\\s.*";
+    private static final String TAG_REGEX = "^[A-Za-z0-9]+$";
+    private static final String LIST_NAME_REGEX = "^[A-Za-z]+$";
+    /**
+     * The prefix of a reference of the journal form to the task at the following position of the same batch.
+     */
+    private static final String BATCH_REFERENCE_PREFIX = "+";
+    /**
+     * The number of the records of a batch.
+     */
+    private static final int BATCH_RECORDS = 1024;
+    /**
+     * The largest number of chars of a record in the journal form, a char takes at most 3 of the 65535 bytes
+     *    of a journaled string.
+     */
+    private static final int MAXIMAL_RECORD_LENGTH = 65535 / 3;
+    private static final int RECORD_TYPE_INDEX = 0;
+    private static final int REFERENCE_INDEX = 1;
+    private static final int NAME_INDEX = 2;
+    private static final int PRIORITY_INDEX = 3;
+    private static final int DEADLINE_INDEX = 4;
+    private static final int PARENT_INDEX = 5;
+    private static final int DONE_INDEX = 6;
+    private static final int TAGS_INDEX = 7;
+    private static final int TASK_FIELDS = 8;
+    private static final int LIST_NAME_INDEX = 1;
+    private static final int LIST_TAGS_INDEX = 2;
+    private static final int LIST_TASKS_INDEX = 3;
+    private static final int LIST_FIELDS = 4;
+    private static final String INVALID_LINE_ERROR = "line %d is not valid: %s";
+    private static final String INVALID_RECORD_ERROR = "the record %s is not valid";
+    private static final String UNKNOWN_RECORD_ERROR = "unknown record";
+    private static final String MISSING_NAME_ERROR = "the name is missing";
+    private static final String INVALID_TASK_NAME_ERROR = "the task name %s must not contain a space";
+    private static final String INVALID_LIST_NAME_ERROR = "the list name %s must only contain letters";
+    private static final String INVALID_TAG_ERROR = "the tag %s does not have the correct format";
+    private static final String DUPLICATE_TAG_ERROR = "the tag %s is given twice";
+    private static final String DUPLICATE_REFERENCE_ERROR = "the task reference %s is already used";
+    private static final String UNKNOWN_REFERENCE_ERROR = "the task reference %s is not defined before";
+    private static final String INVALID_PRIORITY_ERROR = "the priority %s is not valid";
+    private static final String INVALID_DEADLINE_ERROR = "the deadline %s is not valid";
+    private static final String TOO_LONG_RECORD_ERROR = "the record is too long";
+    private static final String TASK_NOT_FOUND_ERROR = "the task %d can not be found";
+    private static final Map<String, Priority> PRIORITIES = new HashMap<>();
+
+    static {
+        for (Priority priority : Priority.values()) {
+            PRIORITIES.put(priority.getValue(), priority);
+        }
+    }
+
+    private final BufferedReader reader;
+    /**
+     * The task numbers of the tasks of the earlier batches, keyed by their references.
+     */
+    private final Map<String, Integer> taskNumbers;
+    /**
+     * The positions of the tasks of the batch read last, keyed by their references.
+     */
+    private final Map<String, Integer> batchPositions;
+    private int lineNumber;
+
+    private TaskImport(final BufferedReader reader) {
+        this.reader = reader;
+        this.taskNumbers = new HashMap<>();
+        this.batchPositions = new HashMap<>();
+    }
+
+    /**
+     * Checks all the records of the given file and opens it to read its batches.
+     * @param file the file of the records, one per line.
+     * @param procrastinot the system the records are imported into.
+     * @return the import of the file, which must be closed.
+     * @throws IOException if the file can not be read or its records are not valid, then the system is not changed.
+     */
+    public static TaskImport open(final Path file, final Procrastinot procrastinot) throws IOException {
+        try (TaskImport check = new TaskImport(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            //The checked tasks get the task numbers they would get now, so the records have their real length.
+            int nextTaskNumber = procrastinot.getTaskAddedNumber();
+            while (check.readBatch() != null) {
+                int batchTasks = check.batchPositions.size();
+                check.batchAdded(nextTaskNumber);
+                nextTaskNumber += batchTasks;
+            }
+        }
+        return new TaskImport(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next batch of records from the file, in the journal form. The batch must be added by addBatch
+     *    before the next batch is read.
+     * @return the records of the batch, null if the file has no more records.
+     * @throws IOException if the file can not be read or a record is not valid, for example because the file
+     *     was changed since it was checked.
+     */
+    public String[] readBatch() throws IOException {
+        this.batchPositions.clear();
+        List<String> records = new ArrayList<>();
+        String line;
+        while (records.size() < BATCH_RECORDS && (line = this.reader.readLine()) != null) {
+            this.lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(FIELD_SEPARATOR, -1);
+            String error;
+            if (fields[RECORD_TYPE_INDEX].equals(TASK_RECORD)) {
+                fields = getFields(fields, TASK_FIELDS);
+                error = readTask(fields);
+            } else if (fields[RECORD_TYPE_INDEX].equals(LIST_RECORD)) {
+                fields = getFields(fields, LIST_FIELDS);
+                error = readList(fields);
+            } else {
+                error = UNKNOWN_RECORD_ERROR;
+            }
+            if (error == null && String.join(FIELD_SEPARATOR, fields).length() > MAXIMAL_RECORD_LENGTH) {
+                error = TOO_LONG_RECORD_ERROR;
+            }
+            if (error != null) {
+                throw new IOException(INVALID_LINE_ERROR.formatted(this.lineNumber, error));
+            }
+            records.add(String.join(FIELD_SEPARATOR, fields));
+        }
+        return records.isEmpty() ? null : records.toArray(new String[0]);
+    }
+
+    /**
+     * Adds the batch read last to the system.
+     * @param records the records of the batch, as returned by readBatch.
+     * @param procrastinot the system the records are imported into.
+     * @return the number of the imported tasks.
+     * @throws IOException if a task of an earlier batch can not be found anymore, then the system is not changed.
+     */
+    public int addBatch(final String[] records, final Procrastinot procrastinot) throws IOException {
+        List<Task> tasks = addRecords(records, procrastinot);
+        batchAdded(tasks.isEmpty() ? 0 : tasks.get(0).getTaskNumber());
+        return tasks.size();
+    }
+
+    /**
+     * Adds a batch in the journal form to the system, for example when the journal is replayed.
+     * @param records the records of the batch in the journal form.
+     * @param procrastinot the system the records are added to.
+     * @return the number of the imported tasks.
+     * @throws IOException if the records are not valid or a task of an earlier batch can not be found, then
+     *     the system is not changed.
+     */
+    public static int importBatch(final String[] records, final Procrastinot procrastinot) throws IOException {
+        return addRecords(records, procrastinot).size();
+    }
+
+    /**
+     * Closes the file.
+     * @throws IOException if the file can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private void batchAdded(final int firstTaskNumber) {
+        for (Map.Entry<String, Integer> batchPosition : this.batchPositions.entrySet()) {
+            this.taskNumbers.put(batchPosition.getKey(), firstTaskNumber + batchPosition.getValue());
+        }
+        this.batchPositions.clear();
+    }
+
+    private String readTask(final String[] taskFields) {
+        if (taskFields[NAME_INDEX].isEmpty()) {
+            return MISSING_NAME_ERROR;
+        }
+        if (taskFields[NAME_INDEX].matches(TASK_NAME_REGEX)) {
+            return INVALID_TASK_NAME_ERROR.formatted(taskFields[NAME_INDEX]);
+        }
+        if (!PRIORITIES.containsKey(taskFields[PRIORITY_INDEX])) {
+            return INVALID_PRIORITY_ERROR.formatted(taskFields[PRIORITY_INDEX]);
+        }
+        if (!taskFields[DEADLINE_INDEX].isEmpty()) {
+            try {
+                LocalDate.parse(taskFields[DEADLINE_INDEX]);
+            } catch (DateTimeParseException e) {
+                return INVALID_DEADLINE_ERROR.formatted(taskFields[DEADLINE_INDEX]);
+            }
+        }
+        if (!taskFields[PARENT_INDEX].isEmpty()) {
+            String parentReference = toJournalReference(taskFields[PARENT_INDEX]);
+            if (parentReference == null) {
+                return UNKNOWN_REFERENCE_ERROR.formatted(taskFields[PARENT_INDEX]);
+            }
+            taskFields[PARENT_INDEX] = parentReference;
+        }
+        String tagError = checkTags(getValues(taskFields[TAGS_INDEX]));
+        if (tagError != null) {
+            return tagError;
+        }
+        String reference = taskFields[REFERENCE_INDEX];
+        if (this.taskNumbers.containsKey(reference)
+            || this.batchPositions.putIfAbsent(reference, this.batchPositions.size()) != null) {
+            return DUPLICATE_REFERENCE_ERROR.formatted(reference);
+        }
+        //The task is referenced by its position in the journal form.
+        taskFields[REFERENCE_INDEX] = "";
+        return null;
+    }
+
+    private String readList(final String[] listFields) {
+        if (listFields[LIST_NAME_INDEX].isEmpty()) {
+            return MISSING_NAME_ERROR;
+        }
+        if (!listFields[LIST_NAME_INDEX].matches(LIST_NAME_REGEX)) {
+            return INVALID_LIST_NAME_ERROR.formatted(listFields[LIST_NAME_INDEX]);
+        }
+        String tagError = checkTags(getValues(listFields[LIST_TAGS_INDEX]));
+        if (tagError != null) {
+            return tagError;
+        }
+        String[] taskReferences = getValues(listFields[LIST_TASKS_INDEX]);
+        for (int i = 0; i < taskReferences.length; i++) {
+            String taskReference = toJournalReference(taskReferences[i]);
+            if (taskReference == null) {
+                return UNKNOWN_REFERENCE_ERROR.formatted(taskReferences[i]);
+            }
+            taskReferences[i] = taskReference;
+        }
+        listFields[LIST_TASKS_INDEX] = String.join(VALUE_SEPARATOR, taskReferences);
+        return null;
+    }
+
+    private String toJournalReference(final String reference) {
+        Integer batchPosition = this.batchPositions.get(reference);
+        if (batchPosition != null) {
+            return BATCH_REFERENCE_PREFIX + batchPosition;
+        }
+        Integer taskNumber = this.taskNumbers.get(reference);
+        return taskNumber == null ? null : String.valueOf(taskNumber);
+    }
+
+    private static String checkTags(final String[] tags) {
+        Set<String> checkedTags = new HashSet<>();
+        for (String tag : tags) {
+            if (!tag.matches(TAG_REGEX)) {
+                return INVALID_TAG_ERROR.formatted(tag);
+            }
+            if (!checkedTags.add(tag)) {
+                return DUPLICATE_TAG_ERROR.formatted(tag);
+            }
+        }
+        return null;
+    }
+
+    private static List<Task> addRecords(final String[] records, final Procrastinot procrastinot)
+        throws IOException {
+        List<ImportedTask> importedTasks = new ArrayList<>();
+        List<ImportedList> importedLists = new ArrayList<>();
+        //The tasks of the earlier batches are found before any task number is handed out.
+        Map<String, Task> earlierTasks = new HashMap<>();
+        for (String record : records) {
+            String[] fields = record.split(FIELD_SEPARATOR, -1);
+            try {
+                if (fields[RECORD_TYPE_INDEX].equals(TASK_RECORD) && fields.length >= TASK_FIELDS) {
+                    String parent = fields[PARENT_INDEX];
+                    if (!parent.isEmpty()) {
+                        findTask(parent, importedTasks.size(), earlierTasks, procrastinot);
+                    }
+                    importedTasks.add(new ImportedTask(fields[NAME_INDEX], PRIORITIES.get(fields[PRIORITY_INDEX]),
+                        fields[DEADLINE_INDEX].isEmpty() ? null : LocalDate.parse(fields[DEADLINE_INDEX]),
+                        parent.isEmpty() ? null : parent, fields[DONE_INDEX].equals(DONE_VALUE),
+                        getValues(fields[TAGS_INDEX])));
+                } else if (fields[RECORD_TYPE_INDEX].equals(LIST_RECORD) && fields.length >= LIST_FIELDS) {
+                    String[] taskReferences = getValues(fields[LIST_TASKS_INDEX]);
+                    for (String taskReference : taskReferences) {
+                        findTask(taskReference, importedTasks.size(), earlierTasks, procrastinot);
+                    }
+                    importedLists.add(new ImportedList(fields[LIST_NAME_INDEX], getValues(fields[LIST_TAGS_INDEX]),
+                        taskReferences));
+                } else {
+                    throw new IOException(INVALID_RECORD_ERROR.formatted(record));
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IOException(INVALID_RECORD_ERROR.formatted(record), e);
+            }
+        }
+        int firstTaskNumber = procrastinot.allocateTaskNumbers(importedTasks.size());
+        TaskBatch batch = new TaskBatch();
+        List<Task> tasks = new ArrayList<>(importedTasks.size());
+        for (ImportedTask importedTask : importedTasks) {
+            Task task = new Task(importedTask.name, firstTaskNumber + tasks.size());
+            task.setPriority(importedTask.priority);
+            task.setDeadLine(importedTask.deadline);
+            //The task has no subtasks yet, so its done status can be set before it is added.
+            task.setDone(importedTask.done);
+            Task parentTask = importedTask.parent == null ? null : getTask(importedTask.parent, tasks, earlierTasks);
+            batch.addTask(task, parentTask, importedTask.tags);
+            tasks.add(task);
+        }
+        for (ImportedList importedList : importedLists) {
+            List<Task> listTasks = new ArrayList<>(importedList.taskReferences.length);
+            for (String taskReference : importedList.taskReferences) {
+                listTasks.add(getTask(taskReference, tasks, earlierTasks));
+            }
+            batch.addTaskList(importedList.name, importedList.tags, listTasks);
+        }
+        procrastinot.addTasks(batch);
+        return tasks;
+    }
+
+    /**
+     * Checks that the task of the given reference in the journal form is defined before. A task of an earlier
+     *    batch is looked up in the system and kept.
+     */
+    private static void findTask(final String reference, final int batchTasks, final Map<String, Task> earlierTasks,
+                                 final Procrastinot procrastinot) throws IOException {
+        if (reference.startsWith(BATCH_REFERENCE_PREFIX)) {
+            if (Integer.parseInt(reference.substring(BATCH_REFERENCE_PREFIX.length())) >= batchTasks) {
+                throw new IOException(UNKNOWN_REFERENCE_ERROR.formatted(reference));
+            }
+        } else if (!earlierTasks.containsKey(reference)) {
+            Task task = procrastinot.getTask(Integer.parseInt(reference));
+            if (task == null) {
+                throw new IOException(TASK_NOT_FOUND_ERROR.formatted(Integer.parseInt(reference)));
+            }
+            earlierTasks.put(reference, task);
+        }
+    }
+
+    private static Task getTask(final String reference, final List<Task> tasks, final Map<String, Task> earlierTasks) {
+        if (reference.startsWith(BATCH_REFERENCE_PREFIX)) {
+            return tasks.get(Integer.parseInt(reference.substring(BATCH_REFERENCE_PREFIX.length())));
+        }
+        return earlierTasks.get(reference);
+    }
+
+    private static String[] getFields(final String[] fields, final int fieldsCount) {
+        if (fields.length >= fieldsCount) {
+            return fields;
+        }
+        //The empty fields at the end of a line can be left out.
+        String[] allFields = new String[fieldsCount];
+        for (int i = 0; i < fieldsCount; i++) {
+            allFields[i] = i < fields.length ? fields[i] : "";
+        }
+        return allFields;
+    }
+
+    private static String[] getValues(final String field) {
+        return field.isEmpty() ? new String[0] : field.split(VALUE_SEPARATOR);
+    }
+
+    /**
+     * Represents a task of a batch, before it is added to the system.
+     */
+    private static final class ImportedTask {
+        private final String name;
+        private final Priority priority;
+        private final LocalDate deadline;
+        /**
+         * The reference of the parent task in the journal form, null if the task has none.
+         */
+        private final String parent;
+        private final boolean done;
+        private final String[] tags;
+
+        ImportedTask(final String name, final Priority priority, final LocalDate deadline, final String parent,
+                     final boolean done, final String[] tags) {
+            this.name = name;
+            this.priority = priority;
+            this.deadline = deadline;
+            this.parent = parent;
+            this.done = done;
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * Represents a TaskList of a batch, before it is added to the system.
+     */
+    private static final class ImportedList {
+        private final String name;
+        private final String[] tags;
+        /**
+         * The references of the tasks in the journal form.
+         */
+        private final String[] taskReferences;
+
+        ImportedList(final String name, final String[] tags, final String[] taskReferences) {
+            this.name = name;
+            this.tags = tags;
+            this.taskReferences = taskReferences;
+        }
+    }
+}
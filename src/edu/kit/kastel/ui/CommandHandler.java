@@ -4,6 +4,8 @@
 
 package edu.kit.kastel.ui;
 import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.storage.Checkpointer;
+import edu.kit.kastel.storage.CommandJournal;
 import edu.kit.kastel.ui.commands.AddCommand;
 import edu.kit.kastel.ui.commands.AddListCommand;
 import edu.kit.kastel.ui.commands.AssignCommand;
@@ -13,8 +15,11 @@ import edu.kit.kastel.ui.commands.ChangePriorityCommand;
 import edu.kit.kastel.ui.commands.ChangeDateCommand;
 import edu.kit.kastel.ui.commands.DeleteCommand;
 import edu.kit.kastel.ui.commands.DuplicatesCommand;
+import edu.kit.kastel.ui.commands.ExportCommand;
 import edu.kit.kastel.ui.commands.FindCommand;
+import edu.kit.kastel.ui.commands.ImportCommand;
 import edu.kit.kastel.ui.commands.ListCommand;
+import edu.kit.kastel.ui.commands.PurgeCommand;
 import edu.kit.kastel.ui.commands.QuitCommand;
 import edu.kit.kastel.ui.commands.RestoreCommand;
 import edu.kit.kastel.ui.commands.ShowCommand;
@@ -23,8 +28,16 @@ import edu.kit.kastel.ui.commands.TaggedWithCommand;
 import edu.kit.kastel.ui.commands.TodoCommand;
 import edu.kit.kastel.ui.commands.ToggleCommand;
 import edu.kit.kastel.ui.commands.UpcomingCommand;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
@@ -39,10 +52,33 @@ import java.util.Scanner;
 public final class CommandHandler {
     private static final String COMMAND_SEPARATOR_REGEX = "\\s+";
     private static final String COMMAND_NOT_FOUND = "ERROR: Command '%s' not found%n";
+    private static final String JOURNAL_WRITE_ERROR = "the command could not be stored: %s";
+    private static final String CHECKPOINT_ERROR = "the snapshot could not be written: %s";
+    /**
+     * The size of the buffers for reading the scripts in batch mode.
+     */
+    private static final int SCRIPT_BUFFER_SIZE = 1 << 20;
 
     private final Procrastinot procrastinot;
     private final Map<String, Command> commands;
+    /**
+     * The journal of the commands that changed the system, null if the commands are not journaled.
+     */
+    private final CommandJournal journal;
+    /**
+     * The checkpointer of the system, null if no snapshots are written.
+     */
+    private final Checkpointer checkpointer;
+    /**
+     * The output the results of the commands are printed to.
+     */
+    private OutputSink output;
     private boolean running = false;
+    private boolean replaying = false;
+    /**
+     * Indicates whether the command executed at the moment was written to the journal.
+     */
+    private boolean commandJournaled = false;
 
 
     /**
@@ -50,11 +86,52 @@ public final class CommandHandler {
      * @param procrastinot the taskAdministrator object.
      */
     public CommandHandler(final Procrastinot procrastinot) {
+        this(procrastinot, null, null);
+    }
+
+    /**
+     * Intantiates a new command handler, which writes the successful commands that change the system to a journal.
+     * @param procrastinot the taskAdministrator object.
+     * @param journal the journal of the commands, null if the commands are not journaled.
+     * @param checkpointer the checkpointer notified about the journaled commands, null if there is none.
+     */
+    public CommandHandler(final Procrastinot procrastinot, final CommandJournal journal,
+                          final Checkpointer checkpointer) {
         this.procrastinot = Objects.requireNonNull(procrastinot);
         this.commands = new HashMap<>();
+        this.journal = journal;
+        this.checkpointer = checkpointer;
+        //The interactive output is written after every command, so the user sees the result at once.
+        this.output = OutputSink.forStreams(System.out, System.err, true);
         this.initCommands();
     }
 
+    /**
+     * Executes again the commands of the journal, so that the system gets the state it had before.
+     * The results of the commands are not printed and the commands are not journaled again.
+     * @param afterSequence the sequence number of the last journal record whose changes the system contains.
+     * @throws IOException if the journal can not be read.
+     */
+    public void replayJournal(final long afterSequence) throws IOException {
+        if (this.journal == null) {
+            return;
+        }
+        OutputSink userOutput = this.output;
+        this.replaying = true;
+        this.output = OutputSink.discarding();
+        try {
+            for (String[] command : this.journal.readCommands(afterSequence)) {
+                Command journaledCommand = commands.get(command[0]);
+                if (journaledCommand != null) {
+                    journaledCommand.execute(Arrays.copyOfRange(command, 1, command.length));
+                }
+            }
+        } finally {
+            this.output = userOutput;
+            this.replaying = false;
+        }
+    }
+
     /**
      * Handles the user input.
      */
@@ -67,6 +144,49 @@ public final class CommandHandler {
         }
     }
 
+    /**
+     * Executes the commands of the given script files one after the other, without any interaction.
+     * The scripts are read through a large buffer and the results are printed to the given output,
+     *    which is flushed once at the end. The execution stops early when a script quits.
+     * @param scriptFiles the script files, each line of a script is executed as a command.
+     * @param batchOutput the output the results are printed to.
+     * @throws IOException if a script can not be read.
+     */
+    public void handleScripts(final List<Path> scriptFiles, final OutputSink batchOutput) throws IOException {
+        OutputSink userOutput = this.output;
+        this.running = true;
+        this.output = batchOutput;
+        try {
+            for (Iterator<Path> scripts = scriptFiles.iterator(); running && scripts.hasNext();) {
+                try (BufferedReader script = new BufferedReader(new InputStreamReader(
+                    Files.newInputStream(scripts.next()), StandardCharsets.UTF_8), SCRIPT_BUFFER_SIZE)) {
+                    for (String line = script.readLine(); running && line != null; line = script.readLine()) {
+                        executeCommand(line);
+                    }
+                }
+            }
+        } finally {
+            batchOutput.flush();
+            this.output = userOutput;
+        }
+    }
+
+    /**
+     * Returns the output the results of the commands are printed to.
+     * @return the current output.
+     */
+    public OutputSink getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Checks if the commands of the journal are executed again at the moment.
+     * @return true if the journal is replayed, false otherwise.
+     */
+    public boolean isReplaying() {
+        return this.replaying;
+    }
+
     /**
      * Quits the user input handling.
      */
@@ -75,17 +195,54 @@ public final class CommandHandler {
     }
 
 
+    /**
+     * Writes a command that is about to change the system to the journal, if there is one.
+     * @param commandName the name of the command.
+     * @param commandArguments the arguments of the command.
+     * @return true if the command was journaled or is not journaled, false if it could not be journaled,
+     *     then the error is printed.
+     */
+    boolean journalCommand(final String commandName, final String[] commandArguments) {
+        if (this.journal == null || this.replaying) {
+            return true;
+        }
+        try {
+            this.journal.append(commandName, commandArguments);
+        } catch (IOException e) {
+            ResultType.FAILURE.printResult(this.output, JOURNAL_WRITE_ERROR, e.getMessage());
+            return false;
+        }
+        this.commandJournaled = true;
+        return true;
+    }
+
     private void executeCommand(String commandWithArguments) {
         String[] splittedCommand = commandWithArguments.trim().split(COMMAND_SEPARATOR_REGEX);
         String commandName = splittedCommand[0];
         String[] commandArguments = Arrays.copyOfRange(splittedCommand, 1, splittedCommand.length);
 
         if (!commands.containsKey(commandName)) {
-            ResultType.FAILURE.printResult(COMMAND_NOT_FOUND, commandName);
-            return;
+            ResultType.FAILURE.printResult(this.output, COMMAND_NOT_FOUND, commandName);
+        } else {
+            commands.get(commandName).execute(commandArguments);
+        }
+        if (this.commandJournaled) {
+            this.commandJournaled = false;
+            //The checkpoint is only captured once the journaled change is made.
+            checkpointJournaledCommand();
         }
+        this.output.commandFinished();
+    }
 
-        commands.get(commandName).execute(commandArguments);
+    private void checkpointJournaledCommand() {
+        if (this.checkpointer == null) {
+            return;
+        }
+        try {
+            this.checkpointer.commandJournaled();
+        } catch (IOException e) {
+            ResultType.FAILURE.printResult(this.output, CHECKPOINT_ERROR, e.getMessage());
+        }
     }
 
     private void initCommands() {
@@ -98,8 +255,11 @@ public final class CommandHandler {
         this.addCommand(new ChangePriorityCommand(this, procrastinot));
         this.addCommand(new DeleteCommand(this, procrastinot));
         this.addCommand(new DuplicatesCommand(this, procrastinot));
+        this.addCommand(new ExportCommand(this, procrastinot));
         this.addCommand(new FindCommand(this, procrastinot));
+        this.addCommand(new ImportCommand(this, procrastinot));
         this.addCommand(new ListCommand(this, procrastinot));
+        this.addCommand(new PurgeCommand(this, procrastinot));
         this.addCommand(new QuitCommand(this, procrastinot));
         this.addCommand(new RestoreCommand(this, procrastinot));
         this.addCommand(new ShowCommand(this, procrastinot));
@@ -0,0 +1,187 @@
+package edu.kit.kastel.ui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents the output the results of the commands and the printed tasks are written to.
+ * The output is collected in a large buffer instead of being written line by line. Depending on the sink,
+ *    the buffer is written after every command, so the user sees the result at once, or only when it is full
+ *    and when the sink is flushed at the end, for example in batch mode.
+ * If the results and the errors are written to different streams, the buffer of one stream is written whenever
+ *    the output switches to the other one, so an error still follows the output written before it, for example
+ *    when both streams go to the same terminal.
+ * Like a PrintStream, the sink does not throw an exception when the output can not be written,
+ *    this can be checked with checkError.
+ * @author ucxug
+ * @version 1.0
+ */
+public final class OutputSink {
+    /**
+     * The size of the buffer of the output.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int INITIAL_LINE_LENGTH = 256;
+    private final Writer output;
+    /**
+     * The writer of the errors, the same as the output if both are written to the same target.
+     */
+    private final Writer errorOutput;
+    private final boolean flushAfterCommand;
+    /**
+     * The characters of the last line written from a builder, reused for the next line.
+     */
+    private char[] lineChars = new char[INITIAL_LINE_LENGTH];
+    /**
+     * The writer the last text was written to, null if nothing was written yet.
+     */
+    private Writer lastWriter;
+    private boolean error;
+
+    private OutputSink(final Writer output, final Writer errorOutput, final boolean flushAfterCommand) {
+        this.output = output;
+        this.errorOutput = errorOutput;
+        this.flushAfterCommand = flushAfterCommand;
+    }
+
+    /**
+     * Creates a sink writing to the given streams in the default charset.
+     * The results and the errors stay in the order they were written, if the same stream is given twice they share
+     *    one buffer.
+     * @param output the stream the results are written to.
+     * @param errorOutput the stream the errors are written to.
+     * @param flushAfterCommand true if the output is written after every command, false if it is only written
+     *    when the buffer is full or the sink is flushed.
+     * @return the new sink.
+     */
+    public static OutputSink forStreams(final OutputStream output, final OutputStream errorOutput,
+                                        final boolean flushAfterCommand) {
+        Writer outputWriter = new BufferedWriter(new OutputStreamWriter(output, Charset.defaultCharset()),
+            BUFFER_SIZE);
+        Writer errorWriter = errorOutput == output ? outputWriter
+            : new BufferedWriter(new OutputStreamWriter(errorOutput, Charset.defaultCharset()), BUFFER_SIZE);
+        return new OutputSink(outputWriter, errorWriter, flushAfterCommand);
+    }
+
+    /**
+     * Creates a sink writing the results and the errors in UTF-8 to the given channel, for example of a file.
+     * The output is encoded directly into a large byte buffer, which is written to the channel when it is full
+     *    and when the sink is flushed.
+     * @param channel the channel the output is written to.
+     * @return the new sink.
+     */
+    public static OutputSink forChannel(final WritableByteChannel channel) {
+        Writer channelWriter = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+        return new OutputSink(channelWriter, channelWriter, false);
+    }
+
+    /**
+     * Creates a sink that drops all the output, for example while the journal is replayed.
+     * @return the new sink.
+     */
+    public static OutputSink discarding() {
+        Writer nullWriter = Writer.nullWriter();
+        return new OutputSink(nullWriter, nullWriter, false);
+    }
+
+    /**
+     * Writes a text to the output.
+     * @param text the text to be written.
+     */
+    public void print(final String text) {
+        write(this.output, text);
+    }
+
+    /**
+     * Writes a line to the output.
+     * @param line the line to be written, without the line separator.
+     */
+    public void println(final String line) {
+        write(this.output, line);
+        write(this.output, LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a line that was built in the given builder to the output. The builder is not copied into a new string,
+     *    so it can be reused for the next line.
+     * @param line the builder containing the line, without the line separator.
+     */
+    public void println(final StringBuilder line) {
+        int length = line.length();
+        if (length > this.lineChars.length) {
+            this.lineChars = new char[Math.max(length, this.lineChars.length * 2)];
+        }
+        line.getChars(0, length, this.lineChars, 0);
+        try {
+            switchTo(this.output);
+            this.output.write(this.lineChars, 0, length);
+            this.output.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            this.error = true;
+        }
+    }
+
+    /**
+     * Writes a text to the error output.
+     * @param text the text to be written.
+     */
+    public void printError(final String text) {
+        write(this.errorOutput, text);
+    }
+
+    /**
+     * Marks the end of a command, the output is written if the sink writes it after every command.
+     */
+    public void commandFinished() {
+        if (this.flushAfterCommand) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all the buffered output to its target.
+     */
+    public void flush() {
+        try {
+            this.output.flush();
+            if (this.errorOutput != this.output) {
+                this.errorOutput.flush();
+            }
+        } catch (IOException e) {
+            this.error = true;
+        }
+    }
+
+    /**
+     * Checks if some output could not be written.
+     * @return true if some output could not be written, false otherwise.
+     */
+    public boolean checkError() {
+        return this.error;
+    }
+
+    private void write(final Writer writer, final String text) {
+        try {
+            switchTo(writer);
+            writer.write(text);
+        } catch (IOException e) {
+            this.error = true;
+        }
+    }
+
+    private void switchTo(final Writer writer) throws IOException {
+        if (this.lastWriter != writer && this.lastWriter != null) {
+            //The other writer is written first, so its output stays before the output of this writer.
+            this.lastWriter.flush();
+        }
+        this.lastWriter = writer;
+    }
+}
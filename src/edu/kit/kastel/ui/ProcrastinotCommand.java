@@ -3,6 +3,8 @@ package edu.kit.kastel.ui;
 import edu.kit.kastel.model.Priority;
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskRenderer;
+import edu.kit.kastel.model.TaskState;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -37,10 +39,6 @@ public abstract class ProcrastinotCommand extends Command {
      * Confirmation message for when the date or priority of a task is changed.
      */
     protected static final String CHANGE_CONFIRMATION = "changed %s to %s";
-    /**
-     * Delimiter, Indent for printing a task or a subtask.
-     */
-    protected static final String TASK_LEVEL_REPRESENTATION = "  ";
     /**
      * Empty string for when a given command result is empty and needs to be printed.
      */
@@ -75,6 +73,7 @@ public abstract class ProcrastinotCommand extends Command {
      */
     protected final Procrastinot procrastinot;
     private final int expectedNumberOfArguments;
+    private final TaskRenderer taskRenderer = new TaskRenderer();
 
 
 
@@ -95,17 +94,39 @@ public abstract class ProcrastinotCommand extends Command {
     @Override
     public final void execute(String[] commandArguments) {
         if (commandArguments.length < expectedNumberOfArguments) {
-            ResultType.FAILURE.printResult(NOT_EXPECTED_ARGS_LENGTH_ERROR, expectedNumberOfArguments,
-                commandArguments.length);
+            ResultType.FAILURE.printResult(commandHandler.getOutput(), NOT_EXPECTED_ARGS_LENGTH_ERROR,
+                expectedNumberOfArguments, commandArguments.length);
             return;
         }
 
         Result result = executeTaskCommand(commandArguments);
         if (result != null) {
-            result.getType().printResult(result.getMessage());
+            result.getType().printResult(commandHandler.getOutput(), result.getMessage());
         }
     }
 
+    /**
+     * Writes the command to the journal before it changes the system, so the journal holds every change before it
+     *    is made. A command that changes the system calls this after its arguments are checked, right before the
+     *    change. If the system rejects the change afterwards, it rejects it again when the journal is replayed.
+     * @param commandArguments the arguments the command was executed with.
+     * @return true if the command may change the system, false if it could not be journaled, then the error is
+     *     printed and the command must not change the system.
+     */
+    protected boolean journalChange(final String[] commandArguments) {
+        return commandHandler.journalCommand(getCommandName(), getJournalArguments(commandArguments));
+    }
+
+    /**
+     * Returns the arguments the command is journaled with, so that executing the command again with them
+     *    makes the same change. By default these are the arguments the command was executed with.
+     * @param commandArguments the arguments the command was executed with.
+     * @return the arguments to be journaled.
+     */
+    protected String[] getJournalArguments(final String[] commandArguments) {
+        return commandArguments;
+    }
+
     /**
      * Executes the command.
      * @param commandArguments the command arguments
@@ -165,14 +186,32 @@ public abstract class ProcrastinotCommand extends Command {
      */
     protected void printTask(final Task taskToPrint, final int indentLevel) {
         if (!taskToPrint.isDeleted()) {
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + taskToPrint.toString());
-            for (Task subtask : taskToPrint.getSubTasks()) {
+            printTaskLine(taskToPrint, indentLevel);
+            for (Task subtask : taskToPrint.getSubTasksView()) {
                 printTask(subtask, indentLevel + 1);
             }
         }
     }
 
+    /**
+     * Prints the line of a single task with the indent of the given level, its subtasks are not printed.
+     * The line is rendered into a reused builder, so printing large task trees does not create a string per line.
+     * @param taskToPrint the task to be printed.
+     * @param indentLevel the identitation level for the task to be printed.
+     */
+    protected void printTaskLine(final Task taskToPrint, final int indentLevel) {
+        commandHandler.getOutput().println(this.taskRenderer.render(taskToPrint, indentLevel));
+    }
+
+    /**
+     * Prints the line of the state of a single task taken from a snapshot, its subtasks are not printed.
+     * @param stateToPrint the state of the task to be printed.
+     * @param indentLevel the identitation level for the task to be printed.
+     */
+    protected void printTaskLine(final TaskState stateToPrint, final int indentLevel) {
+        commandHandler.getOutput().println(this.taskRenderer.render(stateToPrint, indentLevel));
+    }
+
     /**
      * Returns the task number for a given task
      * @param numberRepresentation the String containing the task number.
@@ -189,22 +228,15 @@ public abstract class ProcrastinotCommand extends Command {
     }
 
     /**
-     * Checks if the deadline of the given task falls within the specified date range
+     * Checks if the deadline of the given task or of one of its subtasks falls within the specified date range.
+     * The subtasks whose deadlines can not be within the range are skipped.
      * @param taskToCheck the Task to be checked.
-     * @param startDate the start date of the range.
-     * @param endDate the end date of the range.
-     * @return true if the tasks deadline is within the date range or has no deadline,
+     * @param startDay the epoch day of the start date of the range.
+     * @param endDay the epoch day of the end date of the range.
+     * @return true if the tasks deadline or a subtask deadline is within the date range or has no deadline,
      *          false otherwise.
      */
-    protected boolean isBetweeDates(Task taskToCheck, final LocalDate startDate, final LocalDate endDate) {
-        if (taskToCheck.getDeadline() == null) {
-            return true;
-        } else {
-            for (Task task : taskToCheck.getSubTasks()) {
-                return isBetweeDates(task, startDate, endDate);
-            }
-        }
-        return taskToCheck.getDeadline().plusDays(DAYS_BEFORE_DATE).isAfter(startDate)
-            && taskToCheck.getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(endDate);
+    protected boolean isBetweeDates(Task taskToCheck, final long startDay, final long endDay) {
+        return !taskToCheck.hasDeadline() || taskToCheck.hasDeadlineBetween(startDay, endDay);
     }
 }
@@ -17,8 +17,8 @@ public enum ResultType {
      */
     FAILURE() {
         @Override
-        public <T> void printResult(final String formattedMessage, T... args) {
-            System.err.printf("ERROR: " + formattedMessage + NEW_LINE_SYMBOL, args);
+        public <T> void printResult(final OutputSink output, final String formattedMessage, T... args) {
+            output.printError(String.format("ERROR: " + formattedMessage + NEW_LINE_SYMBOL, args));
         }
     },
 
@@ -27,8 +27,8 @@ public enum ResultType {
      */
     SUCCESS() {
         @Override
-        public <T> void printResult(final String formattedMessage, T... args) {
-            System.out.printf(formattedMessage + NEW_LINE_SYMBOL, args);
+        public <T> void printResult(final OutputSink output, final String formattedMessage, T... args) {
+            output.print(String.format(formattedMessage + NEW_LINE_SYMBOL, args));
         }
     };
 
@@ -36,10 +36,11 @@ public enum ResultType {
 
     /**
      * Prints the result of the execution.
+     * @param output            the output the result is printed to
      * @param formattedMessage  the formatted message
      * @param args              the arguments
      * @param <T>               the type of the arguments
      */
-    public abstract <T> void printResult(String formattedMessage, T... args);
+    public abstract <T> void printResult(OutputSink output, String formattedMessage, T... args);
 
 }
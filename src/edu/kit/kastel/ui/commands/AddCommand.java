@@ -60,13 +60,16 @@ public class AddCommand extends ProcrastinotCommand {
             LocalDate date = getDate(commandArguments[TASK_PRIORITY_INDEX]);
             Priority priority = getPriority(commandArguments[TASK_PRIORITY_INDEX]);
             if (date != null || priority != null) {
-                taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.getTaskAddedNumber());
+                if (!journalChange(commandArguments)) {
+                    return null;
+                }
+                taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.allocateTaskNumber());
                 taskToAdd.setDeadLine(date);
                 //The setter in class Task prevents nullpointer exceptions.
                 taskToAdd.setPriority(priority);
                 procrastinot.addTask(taskToAdd);
                 return new Result(ResultType.SUCCESS, (ADD_TASK_CONFIRMATION.formatted(
-                    procrastinot.getTaskAddedNumber() - 1, taskToAdd.getName())));
+                    taskToAdd.getTaskNumber(), taskToAdd.getName())));
             } else {
                 return new Result(ResultType.FAILURE, INVALID_PRIORITY_ERROR);
             }
@@ -78,17 +81,23 @@ public class AddCommand extends ProcrastinotCommand {
                 //Since the arguments length is equal to 3 both the priority and date can not be null.
                 return new Result(ResultType.FAILURE, INVALID_TASK_ERROR);
             }
-            taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.getTaskAddedNumber());
+            if (!journalChange(commandArguments)) {
+                return null;
+            }
+            taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.allocateTaskNumber());
             taskToAdd.setDeadLine(date);
             taskToAdd.setPriority(priority);
             procrastinot.addTask(taskToAdd);
             return new Result(ResultType.SUCCESS, (ADD_TASK_CONFIRMATION.formatted(
-                procrastinot.getTaskAddedNumber() - 1, taskToAdd.getName())));
+                taskToAdd.getTaskNumber(), taskToAdd.getName())));
         } else {
-            taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.getTaskAddedNumber());
+            if (!journalChange(commandArguments)) {
+                return null;
+            }
+            taskToAdd = new Task(commandArguments[NAME_INDEX], this.procrastinot.allocateTaskNumber());
             procrastinot.addTask(taskToAdd);
         }
         return new Result(ResultType.SUCCESS, (ADD_TASK_CONFIRMATION.formatted(
-            procrastinot.getTaskAddedNumber() - 1, taskToAdd.getName())));
+            taskToAdd.getTaskNumber(), taskToAdd.getName())));
     }
 }
@@ -47,11 +47,13 @@ public class AddListCommand extends ProcrastinotCommand {
             return new Result(ResultType.FAILURE, INVALID_NAME_ERROR);
         }
         //The new TaskList name can not already be in the Procrastinot System.
-        if (procrastinot.containsTaskList(commandArguments[LIST_NAME_INDEX])) {
-            return new Result(ResultType.FAILURE, LIST_EXIST_ERROR);
+        if (!journalChange(commandArguments)) {
+            return null;
         }
         TaskList taskListToAdd = new TaskList(commandArguments[LIST_NAME_INDEX]);
-        procrastinot.addList(taskListToAdd);
+        if (!procrastinot.addList(taskListToAdd)) {
+            return new Result(ResultType.FAILURE, LIST_EXIST_ERROR);
+        }
         return new Result(ResultType.SUCCESS, ADDED_LIST_FORMAT.formatted(taskListToAdd.getName()));
     }
 }
@@ -64,29 +64,31 @@ public class AssignCommand extends ProcrastinotCommand {
             Task task = procrastinot.getTask(parentTaskId);
             if (task == null) {
                 return new Result(ResultType.FAILURE, TASK_NOT_FOUND_ERROR);
-            } else if (subTask.getSubTasks().contains(task) || task.getSubTasks().contains(subTask)
-                || subTask.equals(task)) {
+            } else if (!journalChange(commandArguments)) {
+                return null;
+            } else if (!procrastinot.addSubTask(task, subTask)) {
+                //The task can not become a subtask of itself or of a task below it.
                 return new Result(ResultType.FAILURE, TASK_PARENT_ERROR);
             } else {
-                procrastinot.addSubTask(task, subTask);
                 return new Result(ResultType.SUCCESS, ASSIGN_CONFIRMATION_FORMAT.formatted(subTask.getName(),
                     task.getName()));
             }
         }
-        return assignToTaskList(commandArguments[LIST_NAME_INDEX], subTask);
+        return assignToTaskList(commandArguments, subTask);
     }
 
 
-    private Result assignToTaskList(String taskListName, Task subTask) {
+    private Result assignToTaskList(String[] commandArguments, Task subTask) {
         //The subtask will be added to the given Task list, if it is found.
-        TaskList taskList = procrastinot.getTaskList(taskListName);
+        TaskList taskList = procrastinot.getTaskList(commandArguments[LIST_NAME_INDEX]);
         if (taskList == null) {
             return new Result(ResultType.FAILURE, LIST_NOT_FOUND_ERROR);
-        } else if (taskList.containsTask(subTask)) {
+        } else if (!journalChange(commandArguments)) {
+            return null;
+        } else if (!procrastinot.assignToList(taskList, subTask)) {
             //If the TaskList already contains the given subtask it will cause an error.
             return new Result(ResultType.FAILURE, TASK_EXIST_IN_LIST_ERROR);
         }
-        taskList.addTask(subTask);
         return new Result(ResultType.SUCCESS, ASSIGN_CONFIRMATION_FORMAT.formatted(subTask.getName(),
             taskList.getName()));
     }
@@ -2,12 +2,12 @@ package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.VisitedTasks;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * This command show all the Procrastinot Tasks that their dead line is before a given date.
@@ -46,69 +46,74 @@ public class BeforeCommand extends ProcrastinotCommand {
             return new Result(ResultType.FAILURE, INVALID_DATE_ERROR);
         }
         //If no Tasks is found the result will be an empty String.
+        boolean isEmptyResult = procrastinot.read(() -> printTasks(currentDate));
+        if (isEmptyResult) {
+            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
+        }
+        return null;
+    }
+
+    private boolean printTasks(final LocalDate currentDate) {
         boolean didPrint = false;
         boolean isEmptyResult = true;
-        for (Task task : procrastinot.getTodoTask()) {
-            didPrint = printRecursively(task, START_INDENT_LEVEL, currentDate);
+        VisitedTasks printedTasks = new VisitedTasks();
+        long currentDay = currentDate.toEpochDay();
+        //Only the tasks with a deadline until the given date and the subtasks of a parent task with a later deadline
+        //can start a printed task tree.
+        for (Task task : procrastinot.getTaskTreesUntil(currentDate)) {
+            didPrint = printRecursively(task, START_INDENT_LEVEL, currentDay, printedTasks);
             if (didPrint) {
                 isEmptyResult = false;
             }
         }
-        if (isEmptyResult) {
-            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
-        }
-        procrastinot.setUnprinted();
-        return null;
+        return isEmptyResult;
     }
 
-    private boolean printRecursively(Task parentTask, int indentLevel, LocalDate date) {
-        if (checkTaskDateConditions(parentTask, date)) {
-            List<Task> subTasks = parentTask.getSubTasks();
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + parentTask.toString());
-            parentTask.setPrinted();
+    private boolean printRecursively(Task parentTask, int indentLevel, long day, VisitedTasks printedTasks) {
+        if (checkTaskDateConditions(parentTask, day, printedTasks)) {
+            Iterable<Task> subTasks = parentTask.getSubTasksView();
+            printTaskLine(parentTask, indentLevel);
+            printedTasks.visit(parentTask);
             for (Task task : subTasks) {
-                printRecursively(task, indentLevel + 1, date);
+                printRecursively(task, indentLevel + 1, day, printedTasks);
             }
             return true;
         }
         return false;
     }
-    private boolean checkTaskDateConditions(Task task, LocalDate taskDate) {
-        if (task.isDeleted()  || task.isPrinted()) {
+    private boolean checkTaskDateConditions(Task task, long taskDay, VisitedTasks printedTasks) {
+        if (task.isDeleted()  || printedTasks.isVisited(task)) {
             return false;
         }
-        if (task.getDeadline() == null && (task.getParentTask() != null && !task.getParentTask().isPrinted())) {
+        if (!task.hasDeadline()
+            && (task.getParentTask() != null && !printedTasks.isVisited(task.getParentTask()))) {
             return false;
         }
-        if (!taskParentDateCondition(task, taskDate)) {
+        if (!taskParentDateCondition(task, taskDay, printedTasks)) {
             return false;
         }
-        if (task.getParentTask() != null && (task.getDeadline() != null
-            && (task.getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(taskDate)))) {
+        if (task.getParentTask() != null && task.isDeadlineUntil(taskDay)) {
             return true;
         }
-        return isDateBetweenDates(task, taskDate);
+        return isDateBetweenDates(task, taskDay, printedTasks);
     }
 
 
-    private boolean taskParentDateCondition(Task task, LocalDate taskDate) {
-        return (task.getParentTask() == null || (task.getDeadline() != null || task.getParentTask().isPrinted()))
-            && (task.getParentTask() != null
-                || (task.getDeadline() != null && task.getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(taskDate)));
+    private boolean taskParentDateCondition(Task task, long taskDay, VisitedTasks printedTasks) {
+        return (task.getParentTask() == null
+                || (task.hasDeadline() || printedTasks.isVisited(task.getParentTask())))
+            && (task.getParentTask() != null || task.isDeadlineUntil(taskDay));
     }
 
 
-    private boolean isDateBetweenDates(Task task, LocalDate taskDate) {
+    private boolean isDateBetweenDates(Task task, long taskDay, VisitedTasks printedTasks) {
         //The task date must be before the given date.
-        boolean validTaskDate = task.getDeadline() == null
-            || task.getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(taskDate);
+        boolean validTaskDate = !task.hasDeadline() || task.isDeadlineUntil(taskDay);
         boolean taskParentValidDate = task.getParentTask() != null;
 
         //If the parent task is printed, or the parent task date is before the given date the subtask will be printed.
-        boolean isParentTaskPrinted = (task.getParentTask() == null || task.getParentTask().isPrinted())
-            || (task.getParentTask().getDeadline() != null
-            && !task.getParentTask().getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(taskDate));
+        boolean isParentTaskPrinted = (task.getParentTask() == null || printedTasks.isVisited(task.getParentTask()))
+            || (task.getParentTask().hasDeadline() && !task.getParentTask().isDeadlineUntil(taskDay));
         return (validTaskDate || taskParentValidDate) && isParentTaskPrinted;
     }
 }
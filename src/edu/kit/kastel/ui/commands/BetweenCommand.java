@@ -2,13 +2,13 @@ package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.VisitedTasks;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * This command shows all the Procrastinot Tasks that their dead line is between to given dates.
@@ -49,56 +49,71 @@ public class BetweenCommand extends ProcrastinotCommand {
         if (startDate == null || endDate == null) {
             return new Result(ResultType.FAILURE, INVALID_DATES_ERROR);
         }
+        //The task trees are printed while the system is not changed.
+        boolean isEmptyResult = procrastinot.read(() -> printTasks(startDate, endDate));
+        if (isEmptyResult) {
+            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
+        }
+        return null;
+    }
+
+    private boolean printTasks(final LocalDate startDate, final LocalDate endDate) {
         boolean didPrint = false;
         boolean isEmptyResult = true;
-        for (Task task : procrastinot.getTodoTask()) {
-            didPrint = printRecursively(task, START_INDENT_LEVEL, startDate, endDate);
+        VisitedTasks printedTasks = new VisitedTasks();
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        //Only the tasks within the dates or without a deadline, their parents and the subtasks of the tasks within
+        //the dates can start a printed task tree.
+        for (Task task : procrastinot.getTaskTreesByDeadline(startDate, endDate)) {
+            didPrint = printRecursively(task, START_INDENT_LEVEL, startDay, endDay, printedTasks);
             if (didPrint) {
                 isEmptyResult = false;
             }
         }
-        if (isEmptyResult) {
-            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
-        }
-        procrastinot.setUnprinted();
-        return null;
+        return isEmptyResult;
     }
 
 
-    private boolean printRecursively(Task taskToPrint, int indentLevel, LocalDate startDate, LocalDate endDate) {
-        if (checkTaskDateConditions(taskToPrint, startDate, endDate)
-            && taskFormatCondition(taskToPrint, startDate, endDate)) {
-            List<Task> subTasks = taskToPrint.getSubTasks();
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + taskToPrint.toString());
-            taskToPrint.setPrinted();
+    private boolean printRecursively(Task taskToPrint, int indentLevel, long startDay, long endDay,
+                                     VisitedTasks printedTasks) {
+        if (checkTaskDateConditions(taskToPrint, startDay, endDay, printedTasks)
+            && taskFormatCondition(taskToPrint, startDay, endDay, printedTasks)) {
+            Iterable<Task> subTasks = taskToPrint.getSubTasksView();
+            printTaskLine(taskToPrint, indentLevel);
+            printedTasks.visit(taskToPrint);
             for (Task task : subTasks) {
-                printRecursively(task, indentLevel + 1, startDate, endDate);
+                printRecursively(task, indentLevel + 1, startDay, endDay, printedTasks);
             }
             return true;
         }
         return false;
     }
 
-    private boolean taskFormatCondition(Task task, LocalDate startDate, LocalDate endDate) {
-        if (task.getDeadline() == null && (task.getParentTask() != null && !task.getParentTask().isPrinted())) {
+    private boolean taskFormatCondition(Task task, long startDay, long endDay,
+                                        VisitedTasks printedTasks) {
+        if (!task.hasDeadline()
+            && (task.getParentTask() != null && !printedTasks.isVisited(task.getParentTask()))) {
             return false;
         }
-        return task.getParentTask() == null || (task.getParentTask().isPrinted()
-            || (task.getParentTask().getDeadline() != null
-            && task.getParentTask().getDeadline().minusDays(DAYS_BEFORE_DATE).isAfter(startDate))
-            && task.getParentTask().getDeadline().plusDays(DAYS_BEFORE_DATE).isBefore(endDate));
+        //The deadline of the parent task must be more than one day after the start and before the end.
+        return task.getParentTask() == null || printedTasks.isVisited(task.getParentTask())
+            || task.getParentTask().isDeadlineBetween(startDay + DAYS_BEFORE_DATE + 1, endDay - DAYS_BEFORE_DATE - 1);
     }
 
-    private boolean checkParentTaskDate(Task task, LocalDate startDate, LocalDate endDate) {
-        return task != null
-            && (isBetweeDates(task, startDate, endDate)
-            || checkParentTaskDate(task.getParentTask(), startDate, endDate));
+    private boolean checkParentTaskDate(Task task, long startDay, long endDay) {
+        //The subtasks of the topmost parent task contain the subtasks of all the other parent tasks.
+        Task topTask = task;
+        while (topTask.getParentTask() != null) {
+            topTask = topTask.getParentTask();
+        }
+        return isBetweeDates(topTask, startDay, endDay);
     }
-    private boolean checkTaskDateConditions(Task task, LocalDate startDate, LocalDate endDate) {
-        boolean taskStatus = !task.isDeleted() && !task.isPrinted();
-        boolean taskDates = task.getDeadline() == null || isBetweeDates(task, startDate, endDate);
-        boolean taskParentDate = task.getParentTask() != null && task.getParentTask().getDeadline() == null;
-        return taskStatus && (taskDates || taskParentDate || checkParentTaskDate(task, startDate, endDate));
+    private boolean checkTaskDateConditions(Task task, long startDay, long endDay,
+                                            VisitedTasks printedTasks) {
+        boolean taskStatus = !task.isDeleted() && !printedTasks.isVisited(task);
+        boolean taskDates = !task.hasDeadline() || isBetweeDates(task, startDay, endDay);
+        boolean taskParentDate = task.getParentTask() != null && !task.getParentTask().hasDeadline();
+        return taskStatus && (taskDates || taskParentDate || checkParentTaskDate(task, startDay, endDay));
     }
 }
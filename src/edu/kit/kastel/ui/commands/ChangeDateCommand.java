@@ -49,8 +49,11 @@ public class ChangeDateCommand extends ProcrastinotCommand {
         } else if (newDate == null) {
             return new Result(ResultType.FAILURE, INVALID_DATE_ERROR);
         }
+        if (!journalChange(commandArguments)) {
+            return null;
+        }
         //The Task Deadline is seted to the given date.
-        taskToChange.setDeadLine(newDate);
+        procrastinot.changeDeadline(taskToChange, newDate);
         return new Result(ResultType.SUCCESS, CHANGE_CONFIRMATION.formatted(taskToChange.getName(),
             newDate.toString()));
     }
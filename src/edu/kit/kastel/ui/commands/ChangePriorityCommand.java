@@ -60,7 +60,10 @@ public class ChangePriorityCommand extends ProcrastinotCommand {
         if (task == null) {
             return new Result(ResultType.FAILURE, TASK_NOT_FOUND_ERROR);
         }
-        task.setPriority(priority);
+        if (!journalChange(commandArguments)) {
+            return null;
+        }
+        procrastinot.changePriority(task, priority);
         return new Result(ResultType.SUCCESS, CHANGE_CONFIRMATION.formatted(task.getName(),
             priority.getValue()));
     }
@@ -45,7 +45,11 @@ public class DeleteCommand extends ProcrastinotCommand {
         if (task == null) {
             return new Result(ResultType.FAILURE, TASK_NOT_FOUND_ERROR);
         }
+        if (!journalChange(commandArguments)) {
+            return null;
+        }
         //The task and subtasks will be recursively deleted.
-        return new Result(ResultType.SUCCESS, DELETE_CONFIRMATION_FORMAT.formatted(task.getName(), task.deleteTask()));
+        return new Result(ResultType.SUCCESS, DELETE_CONFIRMATION_FORMAT.formatted(task.getName(),
+            procrastinot.deleteTask(task)));
     }
 }
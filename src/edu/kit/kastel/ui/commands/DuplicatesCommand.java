@@ -5,9 +5,6 @@ import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
-import java.util.Collections;
-import java.util.List;
-import java.util.StringJoiner;
 
 /**
  * This command shows all the duplicates Tasks in the Procrastinot system.
@@ -41,16 +38,17 @@ public class DuplicatesCommand extends ProcrastinotCommand {
             return new Result(ResultType.FAILURE, MORE_ARGUMENTS_THAN_EXPECTED.formatted(COMMAND_NAME,
                 EXPECTED_ARGUMENTS_LENGTH));
         }
-        List<Integer> duplicatesId = procrastinot.getDuplicates();
-        //Sorts the duplicates tasks id's.
-        Collections.sort(duplicatesId);
-        StringJoiner stringJoiner = new StringJoiner(DUPLICATES_DELIMITER);
+        //The duplicates tasks id's are already sorted.
+        int[] duplicatesId = procrastinot.getDuplicates();
+        StringBuilder duplicatesString = new StringBuilder();
         for (int taskId : duplicatesId) {
-            int number = taskId + 1;
-            stringJoiner.add(Integer.toString(number));
+            if (!duplicatesString.isEmpty()) {
+                duplicatesString.append(DUPLICATES_DELIMITER);
+            }
+            duplicatesString.append(taskId);
         }
-        //The size of the list determines the number of duplicaste Tasks.
-        return new Result(ResultType.SUCCESS, DUPLICATES_LIST_FORMAT.formatted(duplicatesId.size(),
-            stringJoiner.toString()));
+        //The size of the array determines the number of duplicaste Tasks.
+        return new Result(ResultType.SUCCESS, DUPLICATES_LIST_FORMAT.formatted(duplicatesId.length,
+            duplicatesString.toString()));
     }
 }
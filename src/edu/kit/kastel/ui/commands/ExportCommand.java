@@ -0,0 +1,53 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.storage.TaskExport;
+import edu.kit.kastel.ui.CommandHandler;
+import edu.kit.kastel.ui.Result;
+import edu.kit.kastel.ui.ResultType;
+import edu.kit.kastel.ui.ProcrastinotCommand;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * This command exports all the tasks of the Procrastinot system to a file as JSON lines.
+ * The command does not change the system, so it is not journaled.
+ * @author ucxug
+ * @version 1.0
+ */
+public class ExportCommand extends ProcrastinotCommand {
+    private static final String COMMAND_NAME = "export";
+    private static final int EXPECTED_ARGUMENTS_LENGTH = 1;
+    private static final int FILE_INDEX = 0;
+    private static final String EXPORT_CONFIRMATION_FORMAT = "exported %d tasks";
+    private static final String EXPORT_ERROR = "the tasks could not be exported: %s";
+
+    /**
+     * Intantiates an export command.
+     * @param commandHandler the commandHandler
+     * @param procrastinot the Procrastinot instance.
+     */
+    public ExportCommand(final CommandHandler commandHandler, final Procrastinot procrastinot) {
+        super(COMMAND_NAME, commandHandler, procrastinot, EXPECTED_ARGUMENTS_LENGTH);
+    }
+
+    /**
+     * Executes the command.
+     * @param commandArguments the command arguments
+     * @return the result of the command
+     */
+    @Override
+    protected Result executeTaskCommand(final String[] commandArguments) {
+        if (commandArguments.length != EXPECTED_ARGUMENTS_LENGTH) {
+            return new Result(ResultType.FAILURE, MORE_ARGUMENTS_THAN_EXPECTED.formatted(COMMAND_NAME,
+                EXPECTED_ARGUMENTS_LENGTH));
+        }
+        try {
+            int exportedTasks = TaskExport.exportFile(Path.of(commandArguments[FILE_INDEX]), procrastinot);
+            return new Result(ResultType.SUCCESS, EXPORT_CONFIRMATION_FORMAT.formatted(exportedTasks));
+        } catch (IOException | InvalidPathException e) {
+            return new Result(ResultType.FAILURE, EXPORT_ERROR.formatted(e.getMessage()));
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
-import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskSelection;
+import edu.kit.kastel.model.TaskState;
+import edu.kit.kastel.model.TasksSnapshot;
+import edu.kit.kastel.model.VisitedTasks;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
-import java.util.List;
 
 /**
  * This command shows all the task of the Procrastinot System, only if the task name contains a given string part.
@@ -41,11 +43,16 @@ public class FindCommand extends ProcrastinotCommand {
         }
         String nameToFind = commandArguments[STRING_INDEX];
 
-        List<Task> procrastinotTasks = procrastinot.getTasks();
+        //Every found task that was not printed below another found task starts a printed task tree.
+        TaskSelection foundTasks = procrastinot.findTasks(nameToFind);
         boolean didPrint = false;
         boolean isEmptyResult = true;
-        for (Task task: procrastinotTasks) {
-            didPrint = prinRecursively(task, START_INDENT_LEVEL, nameToFind);
+        VisitedTasks printedTasks = new VisitedTasks();
+        //The subtasks are printed from the snapshot the tasks were found in, so changes made meanwhile do not
+        //affect the printed trees.
+        TasksSnapshot snapshot = foundTasks.getSnapshot();
+        for (TaskState task: foundTasks.getTasks()) {
+            didPrint = prinRecursively(task, START_INDENT_LEVEL, printedTasks, snapshot);
             if (didPrint) {
                 isEmptyResult = false;
             }
@@ -53,26 +60,20 @@ public class FindCommand extends ProcrastinotCommand {
         if (isEmptyResult) {
             return new Result(ResultType.SUCCESS, EMPTY_RESULT);
         }
-        procrastinot.setUnprinted();
         return null;
     }
 
-    private boolean prinRecursively(final Task taskToPrint, final int indentLevel, final String nameToFind) {
-        if (!taskToPrint.isDeleted() && !taskToPrint.isPrinted() && (taskToPrint.containsString(nameToFind)
-            || checkParentTask(taskToPrint, nameToFind))) {
-            List<Task> subTasks = taskToPrint.getSubTasks();
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + taskToPrint.toString());
-            taskToPrint.setPrinted();
-            for (Task task : subTasks) {
-                prinRecursively(task, indentLevel + 1, nameToFind);
+    private boolean prinRecursively(final TaskState taskToPrint, final int indentLevel,
+                                    final VisitedTasks printedTasks, final TasksSnapshot snapshot) {
+        //The subtasks of a found task are found as well, the deleted ones are not printed with their subtasks.
+        if (!taskToPrint.isDeleted() && !printedTasks.isVisited(taskToPrint)) {
+            printTaskLine(taskToPrint, indentLevel);
+            printedTasks.visit(taskToPrint);
+            for (TaskState task : snapshot.getSubTasks(taskToPrint)) {
+                prinRecursively(task, indentLevel + 1, printedTasks, snapshot);
             }
             return true;
         }
         return false;
     }
-
-    private boolean checkParentTask(final Task task, final String name) {
-        return task != null && (task.containsString(name) || checkParentTask(task.getParentTask(), name));
-    }
 }
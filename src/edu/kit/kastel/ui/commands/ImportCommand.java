@@ -0,0 +1,79 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.storage.TaskImport;
+import edu.kit.kastel.ui.CommandHandler;
+import edu.kit.kastel.ui.Result;
+import edu.kit.kastel.ui.ResultType;
+import edu.kit.kastel.ui.ProcrastinotCommand;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This command imports the tasks and TaskLists of a file into the Procrastinot system.
+ * The file is imported in batches, each batch is journaled with its records in the journal form before it is added,
+ *    so replaying the journal imports the same tasks even if the file was changed or removed since. This form of
+ *    the command is only accepted from the journal.
+ * @author ucxug
+ * @version 1.0
+ */
+public class ImportCommand extends ProcrastinotCommand {
+    private static final String COMMAND_NAME = "import";
+    private static final int EXPECTED_ARGUMENTS_LENGTH = 1;
+    private static final int FILE_INDEX = 0;
+    private static final String IMPORT_CONFIRMATION_FORMAT = "imported %d tasks";
+    private static final String IMPORT_ERROR = "the file could not be imported: %s";
+    /**
+     * The first argument of a journaled batch, the records of the batch follow it.
+     */
+    private static final String BATCH_ARGUMENT = "batch";
+
+    /**
+     * Intantiates an import command.
+     * @param commandHandler the commandHandler
+     * @param procrastinot the Procrastinot instance.
+     */
+    public ImportCommand(final CommandHandler commandHandler, final Procrastinot procrastinot) {
+        super(COMMAND_NAME, commandHandler, procrastinot, EXPECTED_ARGUMENTS_LENGTH);
+    }
+
+    /**
+     * Executes the command.
+     * @param commandArguments the command arguments
+     * @return the result of the command
+     */
+    @Override
+    protected Result executeTaskCommand(final String[] commandArguments) {
+        if (commandHandler.isReplaying() && commandArguments[FILE_INDEX].equals(BATCH_ARGUMENT)) {
+            try {
+                int importedTasks = TaskImport.importBatch(Arrays.copyOfRange(commandArguments, FILE_INDEX + 1,
+                    commandArguments.length), procrastinot);
+                return new Result(ResultType.SUCCESS, IMPORT_CONFIRMATION_FORMAT.formatted(importedTasks));
+            } catch (IOException e) {
+                return new Result(ResultType.FAILURE, IMPORT_ERROR.formatted(e.getMessage()));
+            }
+        }
+        if (commandArguments.length != EXPECTED_ARGUMENTS_LENGTH) {
+            return new Result(ResultType.FAILURE, MORE_ARGUMENTS_THAN_EXPECTED.formatted(COMMAND_NAME,
+                EXPECTED_ARGUMENTS_LENGTH));
+        }
+        int importedTasks = 0;
+        try (TaskImport taskImport = TaskImport.open(Path.of(commandArguments[FILE_INDEX]), procrastinot)) {
+            for (String[] records = taskImport.readBatch(); records != null; records = taskImport.readBatch()) {
+                String[] batchArguments = new String[records.length + 1];
+                batchArguments[0] = BATCH_ARGUMENT;
+                System.arraycopy(records, 0, batchArguments, 1, records.length);
+                if (!journalChange(batchArguments)) {
+                    return null;
+                }
+                importedTasks += taskImport.addBatch(records, procrastinot);
+            }
+        } catch (IOException | InvalidPathException e) {
+            //The batches added before the error stay imported, they are journaled.
+            return new Result(ResultType.FAILURE, IMPORT_ERROR.formatted(e.getMessage()));
+        }
+        return new Result(ResultType.SUCCESS, IMPORT_CONFIRMATION_FORMAT.formatted(importedTasks));
+    }
+}
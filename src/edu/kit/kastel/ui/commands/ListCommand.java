@@ -7,7 +7,6 @@ import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
-import java.util.List;
 
 /**
  * This command shows all the tasks of a TaskList in the Procrastinot system.
@@ -48,14 +47,23 @@ public class ListCommand extends ProcrastinotCommand {
         if (taskList == null) {
             return new Result(ResultType.FAILURE, LIST_NOT_FOUND_ERROR);
         }
-        List<Task> taskListTasks = taskList.getTasks();
-        if (taskListTasks.isEmpty()) {
+        //The task trees are printed while the system is not changed.
+        boolean isEmptyResult = procrastinot.read(() -> printTasks(taskList));
+        if (isEmptyResult) {
             return new Result(ResultType.SUCCESS, EMPTY_RESULT);
-        } else  {
-            for (Task task : taskListTasks) {
+        }
+        return null;
+    }
+
+    private boolean printTasks(final TaskList taskList) {
+        boolean isEmptyResult = true;
+        for (Task task : taskList.getTasksView()) {
+            //The deleted tasks are not printed.
+            if (!task.isDeleted()) {
                 printTask(task, START_INDENT_LEVEL);
+                isEmptyResult = false;
             }
         }
-        return null;
+        return isEmptyResult;
     }
 }
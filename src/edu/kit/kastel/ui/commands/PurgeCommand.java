@@ -0,0 +1,44 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.ui.CommandHandler;
+import edu.kit.kastel.ui.Result;
+import edu.kit.kastel.ui.ResultType;
+import edu.kit.kastel.ui.ProcrastinotCommand;
+
+/**
+ * This command purges all the deleted Tasks in the Procrastinot system, so that they can not be restored anymore.
+ * @author ucxug
+ * @version 1.0
+ */
+public class PurgeCommand extends ProcrastinotCommand {
+    private static final String COMMAND_NAME = "purge";
+    private static final int EXPECTED_ARGUMENTS_LENGTH = 0;
+    private static final String PURGE_CONFIRMATION_FORMAT = "purged %d tasks";
+
+    /**
+     * Intantiates a purge command.
+     * @param commandHandler the commandHandler
+     * @param procrastinot the Procrastinot instance.
+     */
+    public PurgeCommand(final CommandHandler commandHandler, final Procrastinot procrastinot) {
+        super(COMMAND_NAME, commandHandler, procrastinot, EXPECTED_ARGUMENTS_LENGTH);
+    }
+
+    /**
+     * Executes the command.
+     * @param commandArguments the command arguments
+     * @return the result of the command
+     */
+    @Override
+    protected Result executeTaskCommand(final String[] commandArguments) {
+        if (commandArguments.length != EXPECTED_ARGUMENTS_LENGTH) {
+            return new Result(ResultType.FAILURE, MORE_ARGUMENTS_THAN_EXPECTED.formatted(COMMAND_NAME,
+                EXPECTED_ARGUMENTS_LENGTH));
+        }
+        if (!journalChange(commandArguments)) {
+            return null;
+        }
+        return new Result(ResultType.SUCCESS, PURGE_CONFIRMATION_FORMAT.formatted(procrastinot.purgeDeletedTasks()));
+    }
+}
@@ -2,7 +2,6 @@ package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
-import edu.kit.kastel.model.TaskList;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
@@ -46,32 +45,11 @@ public class RestoreCommand extends ProcrastinotCommand {
         if (task == null) {
             return new Result(ResultType.FAILURE, TASK_NOT_FOUND_ERROR);
         }
-        if (task.getParentTask() != null && task.getParentTask().isDeleted()) {
-            if (!procrastinot.getParentList(task).isEmpty()) {
-                //The task will be added once again to the corresponding TaskList and to the Procrastinot System.
-                for (TaskList taskList : procrastinot.getParentList(task)) {
-                    taskList.addTask(task);
-                }
-            }
-            task.getParentTask().deleteSubTask(task);
-            //If the parent task is deleted, the subtask wont be a subtask anymore. It will be considered a normal task.
-            procrastinot.readdTask(task);
+        if (!journalChange(commandArguments)) {
+            return null;
         }
-
-        return new Result(ResultType.SUCCESS, RESTORE_CONFIRMATION.formatted(task.getName(), restoreTask(task)));
-    }
-
-
-    private int restoreTask(Task parentTask) {
-        int sum = 0;
-        //The given task will be added to all the system once again, so that it can be sorted.
-        parentTask.setDeleted(false);
-        procrastinot.addjustList(parentTask);
-        for (Task task : parentTask.getSubTasks()) {
-            if (task.isDeleted()) {
-                sum += restoreTask(task) + 1;
-            }
-        }
-        return sum;
+        //If the parent task is deleted, the subtask wont be a subtask anymore. It will be considered a normal task.
+        return new Result(ResultType.SUCCESS, RESTORE_CONFIRMATION.formatted(task.getName(),
+            procrastinot.restoreTask(task)));
     }
 }
@@ -39,11 +39,14 @@ public class ShowCommand extends ProcrastinotCommand {
                 EXPECTED_ARGUMENTS_LENGTH));
         }
         int taskId = getTaskId(commandArguments[TASK_NUMBER_INDEX]);
-        Task task = procrastinot.getTask(taskId);
-        if (task == null) {
-            return new Result(ResultType.FAILURE, INVALID_TASK_NUMBER_ERROR);
-        }
-        printTask(task, START_INDENT_LEVEL);
-        return null;
+        //The task is looked up and printed while the system is not changed.
+        return procrastinot.read(() -> {
+            Task task = procrastinot.getTask(taskId);
+            if (task == null) {
+                return new Result(ResultType.FAILURE, INVALID_TASK_NUMBER_ERROR);
+            }
+            printTask(task, START_INDENT_LEVEL);
+            return null;
+        });
     }
 }
@@ -58,23 +58,30 @@ public class TagCommand extends ProcrastinotCommand {
             if (toTagTask == null) {
                 return new Result(ResultType.FAILURE, INVALID_TASK_NUMBER_ERROR);
             }
-            if (toTagTask.getTags().contains(tag)) {
+            if (!journalChange(commandArguments)) {
+                return null;
+            }
+            if (!procrastinot.tagTask(toTagTask, tag)) {
                 return new Result(ResultType.FAILURE, TAG_EXIST_ERROR);
             }
-            toTagTask.addTag(tag, false); //Tags the Task. The tag does not come from a TaskList
             return new Result(ResultType.SUCCESS, TAGGED_CONFIRMATION.formatted(toTagTask.getName(), tag));
         }
-        return tagList(commandArguments[LIST_INDEX_NAME], tag);
+        return tagList(commandArguments, tag);
     }
 
 
-    private Result tagList(final String taskListName, final String tag) {
-        TaskList toTagTaskList = procrastinot.getTaskList(taskListName);
-        if (toTagTaskList == null || toTagTaskList.containsTag(tag)) {
-            //if the TaskList is not found or the TaskList already contains the given tag it will cause an error.
+    private Result tagList(final String[] commandArguments, final String tag) {
+        TaskList toTagTaskList = procrastinot.getTaskList(commandArguments[LIST_INDEX_NAME]);
+        if (toTagTaskList == null) {
+            return new Result(ResultType.FAILURE, INVALID_LIST_ERROR);
+        }
+        if (!journalChange(commandArguments)) {
+            return null;
+        }
+        if (!procrastinot.tagList(toTagTaskList, tag)) {
+            //if the TaskList already contains the given tag it will cause an error.
             return new Result(ResultType.FAILURE, INVALID_LIST_ERROR);
         }
-        toTagTaskList.addTag(tag);
         return new Result(ResultType.SUCCESS, TAGGED_CONFIRMATION.formatted(toTagTaskList.getName(), tag));
 
     }
@@ -48,15 +48,17 @@ public class TaggedWithCommand extends ProcrastinotCommand {
             //The tag must match the given regex to be considered as valid.
             return new Result(ResultType.FAILURE, TAG_NOT_FOUND);
         }
-        //Gets all the taggged task with the given tag.
-        List<Task> taggedTasks = procrastinot.getTaggedTask(tag);
-        if (taggedTasks.isEmpty()) {
-            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
-        } else {
-            for (Task task : taggedTasks) {
-                printTask(task, START_INDENT_LEVEL);
+        //Gets all the taggged task with the given tag and prints them while the system is not changed.
+        return procrastinot.read(() -> {
+            List<Task> taggedTasks = procrastinot.getTaggedTask(tag);
+            if (taggedTasks.isEmpty()) {
+                return new Result(ResultType.SUCCESS, EMPTY_RESULT);
+            } else {
+                for (Task task : taggedTasks) {
+                    printTask(task, START_INDENT_LEVEL);
+                }
             }
-        }
-        return null;
+            return null;
+        });
     }
 }
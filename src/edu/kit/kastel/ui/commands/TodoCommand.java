@@ -1,14 +1,14 @@
 package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
-import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskState;
+import edu.kit.kastel.model.TasksSnapshot;
+import edu.kit.kastel.model.VisitedTasks;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 
-import java.util.List;
-
 /**
  * This command shows all of the to-do tasks in the Procrastinot system.
  * @author Programmieren-Team
@@ -40,12 +40,14 @@ public class TodoCommand extends ProcrastinotCommand {
             return new Result(ResultType.FAILURE, MORE_ARGUMENTS_THAN_EXPECTED.formatted(COMMAND_NAME,
                 EXPECTED_ARGUMENTS_LENGTH));
         }
-        List<Task> todoTasks = procrastinot.getTodoTask();
         boolean didPrint = false;
         boolean isEmptyResult = true;
+        VisitedTasks printedTasks = new VisitedTasks();
+        //The tasks are printed from a snapshot, so changes made meanwhile do not affect the printed tree.
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
 
-        for (Task task : todoTasks) {
-            didPrint = printRecursively(task, START_INDENT_LEVEL);
+        for (TaskState task : snapshot.getTasks()) {
+            didPrint = printRecursively(task, START_INDENT_LEVEL, printedTasks, snapshot);
             if (didPrint) {
                 isEmptyResult = false;
             }
@@ -53,36 +55,26 @@ public class TodoCommand extends ProcrastinotCommand {
         if (isEmptyResult) {
             return new Result(ResultType.SUCCESS, EMPTY_RESULT);
         }
-        //Sets all the Procrastinot Task to unprinted.
-        procrastinot.setUnprinted();
         return null;
     }
 
 
-    private boolean printRecursively(final Task toPrintTask, final int indentLevel) {
-        if (!toPrintTask.isDeleted() && !toPrintTask.isPrinted() && printTaskConditions(toPrintTask)
-            && (containsTodoTask(toPrintTask) || !toPrintTask.isDone())) {
-            List<Task> subTasks = toPrintTask.getSubTasks();
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + toPrintTask.toString());
-            toPrintTask.setPrinted();
-            for (Task task : subTasks) {
-                printRecursively(task, indentLevel + 1);
+    private boolean printRecursively(final TaskState toPrintTask, final int indentLevel,
+                                     final VisitedTasks printedTasks, final TasksSnapshot snapshot) {
+        if (!toPrintTask.isDeleted() && !printedTasks.isVisited(toPrintTask)
+            && printTaskConditions(toPrintTask, printedTasks, snapshot)
+            && (toPrintTask.hasOpenSubTasks() || !toPrintTask.isDone())) {
+            printTaskLine(toPrintTask, indentLevel);
+            printedTasks.visit(toPrintTask);
+            for (TaskState task : snapshot.getSubTasks(toPrintTask)) {
+                printRecursively(task, indentLevel + 1, printedTasks, snapshot);
             }
             return true;
         }
         return false;
     }
 
-    private boolean containsTodoTask(Task todoTask) {
-        for (Task task : todoTask.getSubTasks()) {
-            if (containsTodoTask(task) || !task.isDone()) {
-                return true;
-            }
-        }
-        return false;
-    }
-    private boolean printTaskConditions(Task task) {
-        return task.getParentTask() == null || task.getParentTask().isPrinted();
+    private boolean printTaskConditions(TaskState task, VisitedTasks printedTasks, TasksSnapshot snapshot) {
+        return !task.hasParent() || printedTasks.isVisited(snapshot.getParent(task));
     }
 }
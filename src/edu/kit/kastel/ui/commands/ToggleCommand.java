@@ -45,31 +45,11 @@ public class ToggleCommand extends ProcrastinotCommand {
             //The task must be first found in the Procrastinot System.
             return new Result(ResultType.FAILURE, TASK_NOT_FOUND_ERROR);
         }
-        boolean taskDoneStatus = !task.isDone();
-        task.setDone(taskDoneStatus);
-        //Sets all the subtasks to the parent task done value.
-        for (Task tasks : task.getSubTasks()) {
-            if (!tasks.isDeleted()) {
-                setDoneStatus(task, tasks);
-            }
-        }
-        return new Result(ResultType.SUCCESS, TOGGLE_CONFIRMATION_FORMAT.formatted(task.getName(), toggleTaks(task)));
-    }
-
-    private void setDoneStatus(Task parentTask, Task subtask) {
-        subtask.setDone(parentTask.isDone());
-        for (Task task : subtask.getSubTasks()) {
-            setDoneStatus(parentTask, task);
+        if (!journalChange(commandArguments)) {
+            return null;
         }
-    }
-
-    private int toggleTaks(Task parentTask) {
-        int sum = 0;
-        for (Task task : parentTask.getSubTasks()) {
-            if (!task.isDeleted()) {
-                sum += toggleTaks(task) + 1;
-            }
-        }
-        return sum;
+        //Sets all the subtasks to the parent task done value.
+        int subTasks = procrastinot.toggleTask(task);
+        return new Result(ResultType.SUCCESS, TOGGLE_CONFIRMATION_FORMAT.formatted(task.getName(), subTasks));
     }
 }
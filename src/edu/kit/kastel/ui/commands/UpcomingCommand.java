@@ -2,12 +2,12 @@ package edu.kit.kastel.ui.commands;
 
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.VisitedTasks;
 import edu.kit.kastel.ui.CommandHandler;
 import edu.kit.kastel.ui.Result;
 import edu.kit.kastel.ui.ResultType;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * This command shows all of the task that their dealine is in the interval between the given date and the next 7 days
@@ -42,51 +42,60 @@ public class UpcomingCommand extends ProcrastinotCommand {
         if (currentDate == null) {
             return new Result(ResultType.FAILURE, INVALID_DATE_ERROR);
         }
+        //The task trees are printed while the system is not changed.
+        boolean isEmptyResult = procrastinot.read(() -> printTasks(currentDate));
+        if (isEmptyResult) {
+            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
+        }
+        return null;
+    }
+
+    private boolean printTasks(final LocalDate currentDate) {
         LocalDate date = currentDate.plusDays(DAYS_TO_ADD);
         boolean isEmpty = false;
         boolean isEmptyResult = true;
-        for (Task task : procrastinot.getTasks()) {
-            isEmpty = printRecursively(task, START_INDENT_LEVEL, currentDate, date);
+        VisitedTasks printedTasks = new VisitedTasks();
+        long startDay = currentDate.toEpochDay();
+        long endDay = date.toEpochDay();
+        //Only the tasks within the next days or without a deadline can start a printed task tree.
+        for (Task task : procrastinot.getTasksByDeadline(currentDate, date, true)) {
+            isEmpty = printRecursively(task, START_INDENT_LEVEL, startDay, endDay, printedTasks);
             if (isEmpty) {
                 isEmptyResult = false;
             }
         }
-        if (isEmptyResult) {
-            return new Result(ResultType.SUCCESS, EMPTY_RESULT);
-        }
-        procrastinot.setUnprinted();
-        return null;
+        return isEmptyResult;
     }
 
-    private boolean printRecursively(Task toPrintTask, int indentLevel, LocalDate startDate, LocalDate endDate) {
-        if (checkTaskDate(toPrintTask, startDate, endDate)) {
-            List<Task> subTasks = toPrintTask.getSubTasks();
-            String indent = TASK_LEVEL_REPRESENTATION.repeat(indentLevel);
-            System.out.println(indent + toPrintTask.toString());
-            toPrintTask.setPrinted();
+    private boolean printRecursively(Task toPrintTask, int indentLevel, long startDay, long endDay,
+                                     VisitedTasks printedTasks) {
+        if (checkTaskDate(toPrintTask, startDay, endDay, printedTasks)) {
+            Iterable<Task> subTasks = toPrintTask.getSubTasksView();
+            printTaskLine(toPrintTask, indentLevel);
+            printedTasks.visit(toPrintTask);
             for (Task task : subTasks) {
-                printRecursively(task, indentLevel + 1, startDate, endDate);
+                printRecursively(task, indentLevel + 1, startDay, endDay, printedTasks);
             }
             return true;
         }
         return false;
     }
 
-    private boolean checkTaskDate(Task task, LocalDate startDate, LocalDate endDate) {
-        if (task.isDeleted() || task.isPrinted()
-            || (task.getDeadline() == null && (task.getParentTask() != null && !task.getParentTask().isPrinted()))) {
+    private boolean checkTaskDate(Task task, long startDay, long endDay, VisitedTasks printedTasks) {
+        if (task.isDeleted() || printedTasks.isVisited(task)
+            || (!task.hasDeadline()
+                && (task.getParentTask() != null && !printedTasks.isVisited(task.getParentTask())))) {
             return false;
         }
-        if (task.getParentTask() == null && isTaskDateValid(task, startDate, endDate)) {
+        if (task.getParentTask() == null && isTaskDateValid(task, startDay, endDay)) {
             return true;
         }
-        return task.getParentTask() != null && task.getParentTask().isPrinted()
-            || task.getParentTask() != null && !isTaskDateValid(task.getParentTask(), startDate, endDate)
-                && isTaskDateValid(task, startDate, endDate);
+        return task.getParentTask() != null && printedTasks.isVisited(task.getParentTask())
+            || task.getParentTask() != null && !isTaskDateValid(task.getParentTask(), startDay, endDay)
+                && isTaskDateValid(task, startDay, endDay);
     }
 
-    private boolean isTaskDateValid(Task task, LocalDate startDate, LocalDate endDate) {
-        return task.getDeadline() == null || task.getDeadline().plusDays(1).isAfter(startDate)
-            && task.getDeadline().minusDays(DAYS_BEFORE_DATE).isBefore(endDate);
+    private boolean isTaskDateValid(Task task, long startDay, long endDay) {
+        return !task.hasDeadline() || task.isDeadlineBetween(startDay, endDay);
     }
 }
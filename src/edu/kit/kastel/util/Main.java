@@ -1,19 +1,45 @@
 package edu.kit.kastel.util;
 
 import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.storage.Checkpointer;
+import edu.kit.kastel.storage.CommandJournal;
+import edu.kit.kastel.storage.SnapshotFile;
 import edu.kit.kastel.ui.CommandHandler;
+import edu.kit.kastel.ui.OutputSink;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Main entry point for starting the Procrastinot system.
- * Starts the interaction with the user.
+ * Starts the interaction with the user. If script files are given as arguments, their commands are executed
+ *    in batch mode instead, the results are written to the file named by the system property procrastinot.output
+ *    or else to the standard output.
+ * If the system property procrastinot.journal names a file, the changes are journaled to this file
+ *    and the state journaled in previous runs is restored at the start.
+ * If the system property procrastinot.snapshot names a file, the state is loaded from this snapshot at the start.
+ *    A new snapshot is written in the background after a number of journaled commands and at the end,
+ *    then the journaled changes contained in the snapshot are dropped.
+ * If the system property procrastinot.retention is set, only this number of deleted tasks can be restored,
+ *    the tasks that were deleted first are purged. Otherwise all the deleted tasks are kept.
  * @author ucxug
  * @version 1.0
  */
 public final class Main {
     private static final String CLASS_NOT_INSTANTIATABLE = "Utility class cannot be initialized.";
-    private static final String NO_PARAMETERS_ALLOWED_ERROR =
-        "No arguments are allowed here.";
-    private static final int EXPECTED_ARGUMENTS_LENGTH = 0;
+    private static final String JOURNAL_PROPERTY = "procrastinot.journal";
+    private static final String SNAPSHOT_PROPERTY = "procrastinot.snapshot";
+    private static final String OUTPUT_PROPERTY = "procrastinot.output";
+    private static final String RETENTION_PROPERTY = "procrastinot.retention";
+    private static final int INVALID_RETENTION = -1;
+    private static final String BATCH_ERROR = "ERROR: the scripts can not be executed: %s%n";
+    private static final String OUTPUT_ERROR = "the output could not be written";
+    private static final String STORAGE_ERROR = "ERROR: the stored state can not be used: %s%n";
+    private static final String RETENTION_ERROR = "ERROR: the retention must be a number not below 0, but is %s%n";
 
     private Main() {
         throw new IllegalStateException(CLASS_NOT_INSTANTIATABLE);
@@ -23,17 +49,96 @@ public final class Main {
     /**
      * The main method is the entry point for the programm, it serves to handle all the user interaction with
      * the programm.
-     * @param args the command arguments, but for this case there are not used.
-     * @throws IllegalArgumentException if the arguments lenght if not equal to 0.
+     * @param args the script files to be executed in batch mode, none for the interaction with the user.
      *
      */
-    public static void main(String[] args) throws IllegalArgumentException {
-        if (args.length != EXPECTED_ARGUMENTS_LENGTH) {
-            throw new IllegalArgumentException(NO_PARAMETERS_ALLOWED_ERROR);
+    public static void main(String[] args) {
+        String retention = System.getProperty(RETENTION_PROPERTY);
+        Procrastinot procrastinot;
+        if (retention == null) {
+            procrastinot = new Procrastinot();
         } else {
-            Procrastinot procrastinot = new Procrastinot();
+            int deletedTasksRetention = parseRetention(retention);
+            if (deletedTasksRetention == INVALID_RETENTION) {
+                System.err.printf(RETENTION_ERROR, retention);
+                return;
+            }
+            procrastinot = new Procrastinot(deletedTasksRetention);
+        }
+        String journalFile = System.getProperty(JOURNAL_PROPERTY);
+        String snapshotFile = System.getProperty(SNAPSHOT_PROPERTY);
+        if (journalFile == null && snapshotFile == null) {
             CommandHandler commandHandler = new CommandHandler(procrastinot);
+            handleInput(commandHandler, args);
+            return;
+        }
+        try {
+            runWithStorage(procrastinot, journalFile == null ? null : Path.of(journalFile),
+                snapshotFile == null ? null : Path.of(snapshotFile), args);
+        } catch (IOException e) {
+            System.err.printf(STORAGE_ERROR, e.getMessage());
+        }
+    }
+
+    private static int parseRetention(final String retention) {
+        try {
+            int deletedTasksRetention = Integer.parseInt(retention);
+            return deletedTasksRetention < 0 ? INVALID_RETENTION : deletedTasksRetention;
+        } catch (NumberFormatException e) {
+            return INVALID_RETENTION;
+        }
+    }
+
+    private static void handleInput(final CommandHandler commandHandler, final String[] scriptFiles) {
+        if (scriptFiles.length == 0) {
             commandHandler.handleUserInput();
+            return;
+        }
+        List<Path> scripts = new ArrayList<>();
+        for (String scriptFile : scriptFiles) {
+            scripts.add(Path.of(scriptFile));
+        }
+        String outputFile = System.getProperty(OUTPUT_PROPERTY);
+        try {
+            if (outputFile == null) {
+                runScripts(commandHandler, scripts, OutputSink.forStreams(System.out, System.err, false));
+                return;
+            }
+            try (FileChannel output = FileChannel.open(Path.of(outputFile), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                //The errors are written to the same file, so they stay in the order of the commands.
+                runScripts(commandHandler, scripts, OutputSink.forChannel(output));
+            }
+        } catch (IOException e) {
+            System.err.printf(BATCH_ERROR, e.getMessage());
+        }
+    }
+
+    private static void runScripts(final CommandHandler commandHandler, final List<Path> scripts,
+                                   final OutputSink output) throws IOException {
+        commandHandler.handleScripts(scripts, output);
+        if (output.checkError()) {
+            throw new IOException(OUTPUT_ERROR);
+        }
+    }
+
+    private static void runWithStorage(final Procrastinot procrastinot, final Path journalFile,
+                                       final Path snapshotFile, final String[] scriptFiles) throws IOException {
+        long snapshotSequence = 0;
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            snapshotSequence = SnapshotFile.load(snapshotFile, procrastinot);
+        }
+        try (CommandJournal journal = journalFile == null ? null : new CommandJournal(journalFile);
+             Checkpointer checkpointer = snapshotFile == null ? null : new Checkpointer(procrastinot, journal,
+                 snapshotFile, snapshotSequence, Checkpointer.DEFAULT_CHECKPOINT_INTERVAL)) {
+            CommandHandler commandHandler = new CommandHandler(procrastinot, journal, checkpointer);
+            if (journal != null) {
+                //A new journal continues the sequence numbers of the snapshot.
+                journal.truncate(snapshotSequence);
+                commandHandler.replayJournal(snapshotSequence);
+            }
+            //The last checkpoint is made when the checkpointer is closed.
+            handleInput(commandHandler, scriptFiles);
         }
     }
 
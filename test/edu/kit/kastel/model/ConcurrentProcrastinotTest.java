@@ -0,0 +1,69 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the system can be changed and queried by concurrent threads, and that overlapping queries do not keep
+ *    a change waiting.
+ * @author ucxug
+ * @version 1.0
+ */
+class ConcurrentProcrastinotTest {
+    private static final int CHANGES = 2000;
+    private static final int READERS = 3;
+    private static final long TIMEOUT_MILLIS = 60000;
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void changesWhileQueriesOverlap() throws InterruptedException {
+        Procrastinot procrastinot = new Procrastinot();
+        AtomicBoolean changing = new AtomicBoolean(true);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < CHANGES; i++) {
+                Task task = new Task("task" + i, procrastinot.allocateTaskNumber());
+                task.setDeadLine(DAY.plusDays(i % 10));
+                procrastinot.addTask(task);
+                if (i % 2 == 1) {
+                    procrastinot.deleteTask(task);
+                }
+            }
+            changing.set(false);
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(new Thread(() -> {
+                while (changing.get()) {
+                    //The tree queries walk the tasks while the read lock is held.
+                    procrastinot.read(() -> procrastinot.getTaskTreesUntil(DAY.plusDays(5)));
+                    procrastinot.findTasks("task1");
+                    procrastinot.getTask(procrastinot.getTaskAddedNumber() - 1);
+                }
+            }));
+        }
+        for (Thread thread : readers) {
+            thread.setUncaughtExceptionHandler((failedThread, exception) -> error.set(exception));
+            thread.start();
+        }
+        writer.setUncaughtExceptionHandler((failedThread, exception) -> error.set(exception));
+        writer.start();
+        writer.join(TIMEOUT_MILLIS);
+        changing.set(false);
+        for (Thread thread : readers) {
+            thread.join(TIMEOUT_MILLIS);
+        }
+
+        assertFalse(writer.isAlive());
+        assertNull(error.get());
+        assertEquals(CHANGES / 2, procrastinot.getTasks().size());
+    }
+}
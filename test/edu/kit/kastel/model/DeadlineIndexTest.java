@@ -0,0 +1,58 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the deadline index finds the tasks of a range of days and follows the changed deadlines.
+ * @author ucxug
+ * @version 1.0
+ */
+class DeadlineIndexTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 2, 28);
+    private static final LocalDate SECOND_DAY = LocalDate.of(2024, 2, 29);
+    private static final LocalDate THIRD_DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void findsTheTasksOfARangeWithBothLimitsIncluded() {
+        DeadlineIndex index = new DeadlineIndex();
+        Task firstTask = createTask(1, FIRST_DAY);
+        Task secondTask = createTask(2, SECOND_DAY);
+        Task thirdTask = createTask(3, THIRD_DAY);
+        Task taskWithoutDeadline = createTask(4, null);
+        index.addAll(List.of(firstTask, secondTask, thirdTask, taskWithoutDeadline));
+
+        assertEquals(List.of(firstTask, secondTask), index.getTasksBetween(FIRST_DAY, SECOND_DAY));
+        assertEquals(List.of(secondTask, thirdTask), index.getTasksBetween(SECOND_DAY, null));
+        assertEquals(List.of(firstTask), index.getTasksBetween(null, FIRST_DAY));
+        assertEquals(List.of(taskWithoutDeadline), index.getTasksWithoutDeadline());
+        assertTrue(index.getTasksBetween(THIRD_DAY, FIRST_DAY).isEmpty());
+    }
+
+    @Test
+    void movesATaskToItsNewDeadline() {
+        DeadlineIndex index = new DeadlineIndex();
+        Task task = createTask(1, FIRST_DAY);
+        index.add(task);
+        task.setDeadlineIndex(index);
+
+        task.setDeadLine(THIRD_DAY);
+        assertTrue(index.getTasksBetween(FIRST_DAY, SECOND_DAY).isEmpty());
+        assertEquals(List.of(task), index.getTasksBetween(THIRD_DAY, THIRD_DAY));
+        task.setDeadLine(null);
+        assertTrue(index.getTasksBetween(null, null).isEmpty());
+        assertEquals(List.of(task), index.getTasksWithoutDeadline());
+        index.remove(task);
+        assertTrue(index.getTasksWithoutDeadline().isEmpty());
+    }
+
+    private static Task createTask(final int taskNumber, final LocalDate deadline) {
+        Task task = new Task("task" + taskNumber, taskNumber);
+        task.setDeadLine(deadline);
+        return task;
+    }
+}
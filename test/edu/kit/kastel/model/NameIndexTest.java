@@ -0,0 +1,56 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the n-gram index finds the same tasks as checking every name for the searched part.
+ * @author ucxug
+ * @version 1.0
+ */
+class NameIndexTest {
+
+    @Test
+    void findsShortAndLongParts() {
+        NameIndex index = new NameIndex();
+        Task shopping = new Task("shopping", 1);
+        Task hopping = new Task("hopping", 2);
+        Task shop = new Task("shop", 3);
+        index.addAll(List.of(shopping, hopping, shop));
+
+        assertEquals(Set.of(shopping, hopping, shop), new HashSet<>(index.find("hop")));
+        assertEquals(Set.of(shopping, shop), new HashSet<>(index.find("shop")));
+        assertEquals(Set.of(shopping, hopping), new HashSet<>(index.find("opping")));
+        assertEquals(List.of(shopping), index.find("shopping"));
+        assertTrue(index.find("shops").isEmpty());
+        assertTrue(index.find("x").isEmpty());
+    }
+
+    @Test
+    void findsATaskOnceEvenIfAGramRepeats() {
+        NameIndex index = new NameIndex();
+        Task task = new Task("aaaaaa", 1);
+        index.add(task);
+
+        assertEquals(List.of(task), index.find("a"));
+        assertEquals(List.of(task), index.find("aaaaa"));
+    }
+
+    @Test
+    void forgetsARemovedTask() {
+        NameIndex index = new NameIndex();
+        Task firstTask = new Task("task", 1);
+        Task secondTask = new Task("task", 2);
+        index.addAll(List.of(firstTask, secondTask));
+        index.remove(firstTask);
+
+        assertEquals(List.of(secondTask), index.find("task"));
+        index.remove(secondTask);
+        assertTrue(index.find("ta").isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the tasks are kept sorted by their priority and then by the order they were added, without being
+ *    sorted on reading.
+ * @author ucxug
+ * @version 1.0
+ */
+class OrderedTasksTest {
+
+    @Test
+    void sortsByPriorityAndThenByTheOrderOfAdding() {
+        OrderedTasks orderedTasks = new OrderedTasks();
+        Task lowTask = createTask(1, Priority.LO);
+        Task taskWithoutPriority = createTask(2, null);
+        Task highTask = createTask(3, Priority.HI);
+        Task secondLowTask = createTask(4, Priority.LO);
+        Task mediumTask = createTask(5, Priority.MD);
+        for (Task task : List.of(lowTask, taskWithoutPriority, highTask, secondLowTask, mediumTask)) {
+            orderedTasks.add(task);
+        }
+
+        assertEquals(List.of(highTask, mediumTask, lowTask, secondLowTask, taskWithoutPriority),
+            orderedTasks.toList());
+        assertTrue(orderedTasks.compare(highTask, lowTask) < 0);
+        orderedTasks.moveToEnd(lowTask);
+        assertEquals(List.of(highTask, mediumTask, secondLowTask, lowTask, taskWithoutPriority),
+            orderedTasks.toList());
+    }
+
+    @Test
+    void keepsThePositionAmongTheTasksOfTheNewPriority() {
+        OrderedTasks orderedTasks = new OrderedTasks();
+        Task firstTask = createTask(1, Priority.LO);
+        Task secondTask = createTask(2, Priority.LO);
+        Task thirdTask = createTask(3, Priority.LO);
+        orderedTasks.addAll(List.of(firstTask, secondTask, thirdTask));
+
+        changePriority(orderedTasks, secondTask, Priority.HI);
+        assertEquals(List.of(secondTask, firstTask, thirdTask), orderedTasks.toList());
+        changePriority(orderedTasks, secondTask, Priority.LO);
+        assertEquals(List.of(firstTask, secondTask, thirdTask), orderedTasks.toList());
+    }
+
+    @Test
+    void showsTheRestoredTasksAfterTheOthers() {
+        OrderedTasks subTasks = new OrderedTasks(true);
+        OrderedTasks tasks = new OrderedTasks();
+        Task restoredTask = createTask(1, Priority.HI);
+        restoredTask.setRestored();
+        Task task = createTask(2, null);
+        for (Task orderedTask : List.of(restoredTask, task)) {
+            subTasks.add(orderedTask);
+            tasks.add(orderedTask);
+        }
+
+        assertEquals(List.of(task, restoredTask), subTasks.toList());
+        assertEquals(List.of(restoredTask, task), tasks.toList());
+    }
+
+    @Test
+    void addsManyTasksAtOnceLikeOneByOne() {
+        OrderedTasks addedAtOnce = new OrderedTasks();
+        OrderedTasks addedOneByOne = new OrderedTasks();
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int taskNumber = 1; taskNumber <= 1000; taskNumber++) {
+            tasks.add(createTask(taskNumber, priorities[taskNumber * 7 % priorities.length]));
+        }
+        addedAtOnce.add(tasks.get(0));
+        addedAtOnce.addAll(tasks.subList(1, tasks.size()));
+        for (Task task : tasks) {
+            addedOneByOne.add(task);
+        }
+
+        assertEquals(addedOneByOne.toList(), addedAtOnce.toList());
+        assertEquals(tasks.size(), addedAtOnce.size());
+    }
+
+    private static void changePriority(final OrderedTasks orderedTasks, final Task task, final Priority priority) {
+        Priority oldPriority = task.getPriority();
+        task.setPriority(priority);
+        orderedTasks.updatePriority(task, oldPriority);
+    }
+
+    private static Task createTask(final int taskNumber, final Priority priority) {
+        Task task = new Task("task" + taskNumber, taskNumber);
+        task.setPriority(priority);
+        return task;
+    }
+}
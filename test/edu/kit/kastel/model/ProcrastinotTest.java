@@ -0,0 +1,268 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the queries of the system answer from its indexes like a scan of all the tasks would.
+ * @author ucxug
+ * @version 1.0
+ */
+class ProcrastinotTest {
+
+    @Test
+    void findsATaskByItsId() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task firstTask = addTask(procrastinot, "first");
+        Task secondTask = addTask(procrastinot, "second");
+
+        assertSame(firstTask, procrastinot.getTask(1));
+        assertSame(secondTask, procrastinot.getTask(2));
+        assertNull(procrastinot.getTask(0));
+        assertNull(procrastinot.getTask(3));
+        assertNull(procrastinot.getTask(-1));
+    }
+
+    @Test
+    void findsADeletedTaskOnlyInTheTrash() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task task = addTask(procrastinot, "task");
+        procrastinot.deleteTask(task);
+
+        assertNull(procrastinot.getTask(1));
+        assertSame(task, procrastinot.getDeletedTask(1));
+        procrastinot.restoreTask(task);
+        assertSame(task, procrastinot.getTask(1));
+        assertNull(procrastinot.getDeletedTask(1));
+    }
+
+    @Test
+    void forgetsAPurgedTask() {
+        Procrastinot procrastinot = new Procrastinot();
+        procrastinot.deleteTask(addTask(procrastinot, "task"));
+
+        assertEquals(1, procrastinot.purgeDeletedTasks());
+        assertNull(procrastinot.getTask(1));
+        assertNull(procrastinot.getDeletedTask(1));
+    }
+
+    @Test
+    void findsTheTasksTaggedThemselvesOrThroughTheirList() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task taggedTask = addTask(procrastinot, "tagged");
+        Task listTask = addTask(procrastinot, "listed");
+        Task subTask = addTask(procrastinot, "sub");
+        addTask(procrastinot, "other");
+        procrastinot.addSubTask(listTask, subTask);
+        assertTrue(procrastinot.tagTask(taggedTask, "x"));
+        assertFalse(procrastinot.tagTask(taggedTask, "x"));
+        TaskList taskList = new TaskList("work");
+        procrastinot.addList(taskList);
+        procrastinot.tagList(taskList, "x");
+        procrastinot.assignToList(taskList, listTask);
+
+        //Only the tasks added to the TaskList directly are tagged through it, not their subtasks.
+        assertEquals(Set.of(taggedTask, listTask), new HashSet<>(procrastinot.getTaggedTask("x")));
+        assertTrue(procrastinot.getTaggedTask("y").isEmpty());
+    }
+
+    @Test
+    void findsTheDuplicatesWithEqualOrMissingDeadlines() {
+        Procrastinot procrastinot = new Procrastinot();
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        LocalDate secondDay = LocalDate.of(2024, 1, 2);
+        addTask(procrastinot, "open", null);
+        addTask(procrastinot, "open", firstDay);
+        addTask(procrastinot, "apart", firstDay);
+        addTask(procrastinot, "apart", secondDay);
+        addTask(procrastinot, "equal", firstDay);
+        addTask(procrastinot, "equal", firstDay);
+        Task deletedTask = addTask(procrastinot, "deleted", null);
+        addTask(procrastinot, "deleted", null);
+        addTask(procrastinot, "mixed", firstDay);
+        addTask(procrastinot, "mixed", secondDay);
+        addTask(procrastinot, "mixed", null);
+        procrastinot.deleteTask(deletedTask);
+
+        //A task without deadline is a duplicate of every task with its name, the deleted tasks are not checked.
+        assertArrayEquals(new int[] {1, 2, 5, 6, 9, 10, 11}, procrastinot.getDuplicates());
+    }
+
+    @Test
+    void findsTheTasksOfARangeSortedByPriorityWithoutTheDeletedOnes() {
+        Procrastinot procrastinot = new Procrastinot();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        Task lowTask = addTask(procrastinot, "low", day);
+        Task deletedTask = addTask(procrastinot, "deleted", day);
+        Task highTask = addTask(procrastinot, "high", day.plusDays(1));
+        Task taskWithoutDeadline = addTask(procrastinot, "none", null);
+        addTask(procrastinot, "later", day.plusDays(2));
+        procrastinot.changePriority(lowTask, Priority.LO);
+        procrastinot.changePriority(highTask, Priority.HI);
+        procrastinot.deleteTask(deletedTask);
+
+        assertEquals(List.of(highTask, lowTask), procrastinot.getTasksByDeadline(day, day.plusDays(1), false));
+        assertEquals(List.of(highTask, lowTask, taskWithoutDeadline),
+            procrastinot.getTasksByDeadline(null, day.plusDays(1), true));
+    }
+
+    @Test
+    void findsTheTasksBelowAMatchingTaskButNoDeletedTask() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task parentTask = addTask(procrastinot, "project");
+        Task subTask = addTask(procrastinot, "draft");
+        Task deletedTask = addTask(procrastinot, "projection");
+        addTask(procrastinot, "other");
+        procrastinot.addSubTask(parentTask, subTask);
+        procrastinot.deleteTask(deletedTask);
+
+        List<TaskState> foundTasks = procrastinot.findTasks("proj").getTasks();
+        assertEquals(2, foundTasks.size());
+        assertEquals("project", foundTasks.get(0).getName());
+        assertEquals("draft", foundTasks.get(1).getName());
+    }
+
+    @Test
+    void findsTheTaskListsOfATaskAndOfItsParentTasks() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task parentTask = addTask(procrastinot, "parent");
+        Task subTask = addTask(procrastinot, "sub");
+        Task otherTask = addTask(procrastinot, "other");
+        procrastinot.addSubTask(parentTask, subTask);
+        TaskList work = new TaskList("work");
+        TaskList home = new TaskList("home");
+        procrastinot.addList(work);
+        procrastinot.addList(home);
+        procrastinot.assignToList(work, parentTask);
+        procrastinot.assignToList(home, subTask);
+
+        assertTrue(work.containsTask(subTask));
+        assertFalse(procrastinot.assignToList(work, subTask));
+        assertEquals(List.of(home, work), procrastinot.getParentList(subTask));
+        //The subtask leaves the TaskList of its parent task when it is moved to another task.
+        procrastinot.addSubTask(otherTask, subTask);
+        assertFalse(work.containsTask(subTask));
+        assertEquals(List.of(home), procrastinot.getParentList(subTask));
+    }
+
+    @Test
+    void showsARestoredSubTaskAfterTheOtherSubTasks() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task parentTask = addTask(procrastinot, "parent");
+        Task restoredTask = addTask(procrastinot, "restored");
+        Task keptTask = addTask(procrastinot, "kept");
+        procrastinot.addSubTask(parentTask, restoredTask);
+        procrastinot.addSubTask(parentTask, keptTask);
+        procrastinot.changePriority(restoredTask, Priority.HI);
+
+        procrastinot.deleteTask(restoredTask);
+        procrastinot.restoreTask(restoredTask);
+        assertEquals(List.of(keptTask, restoredTask), parentTask.getSubTasks());
+        assertEquals(List.of(restoredTask, parentTask, keptTask), procrastinot.getTasks());
+    }
+
+    @Test
+    void keepsTheOpenSubTasksOfATaskUpToDate() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task rootTask = addTask(procrastinot, "root");
+        Task middleTask = addTask(procrastinot, "middle");
+        Task leafTask = addTask(procrastinot, "leaf");
+        procrastinot.addSubTask(rootTask, middleTask);
+        procrastinot.addSubTask(middleTask, leafTask);
+        assertTrue(rootTask.hasOpenSubTasks());
+        assertFalse(leafTask.hasOpenSubTasks());
+
+        procrastinot.toggleTask(middleTask);
+        assertFalse(rootTask.hasOpenSubTasks());
+        procrastinot.toggleTask(leafTask);
+        assertTrue(rootTask.hasOpenSubTasks());
+        procrastinot.deleteTask(leafTask);
+        assertFalse(rootTask.hasOpenSubTasks());
+        procrastinot.restoreTask(leafTask);
+        assertTrue(rootTask.hasOpenSubTasks());
+        Task otherTask = addTask(procrastinot, "other");
+        procrastinot.addSubTask(otherTask, middleTask);
+        assertFalse(rootTask.hasOpenSubTasks());
+        assertTrue(otherTask.hasOpenSubTasks());
+    }
+
+    @Test
+    void keepsTheDeadlineRangesOfASubTreeUpToDate() {
+        Procrastinot procrastinot = new Procrastinot();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        long firstDay = day.toEpochDay();
+        Task parentTask = addTask(procrastinot, "parent", day);
+        Task subTask = addTask(procrastinot, "sub", day.plusDays(4));
+        procrastinot.addSubTask(parentTask, subTask);
+
+        assertTrue(parentTask.hasDeadlineBetween(firstDay + 4, firstDay + 4));
+        assertFalse(parentTask.hasDeadlineBetween(firstDay + 1, firstDay + 3));
+        procrastinot.changeDeadline(subTask, day.plusDays(8));
+        assertFalse(parentTask.hasDeadlineBetween(firstDay + 4, firstDay + 4));
+        assertTrue(parentTask.hasDeadlineBetween(firstDay + 8, firstDay + 9));
+        procrastinot.deleteTask(subTask);
+        assertFalse(parentTask.hasDeadlineBetween(firstDay + 8, firstDay + 9));
+        //A task without deadline is within every range.
+        procrastinot.restoreTask(subTask);
+        procrastinot.changeDeadline(subTask, null);
+        assertTrue(parentTask.hasDeadlineBetween(firstDay + 8, firstDay + 9));
+    }
+
+    @Test
+    void purgesTheTasksDeletedFirstBeyondTheRetention() {
+        Procrastinot procrastinot = new Procrastinot(2);
+        Task firstTask = addTask(procrastinot, "first");
+        Task secondTask = addTask(procrastinot, "second");
+        Task thirdTask = addTask(procrastinot, "third");
+        procrastinot.deleteTask(firstTask);
+        procrastinot.deleteTask(secondTask);
+        procrastinot.deleteTask(thirdTask);
+
+        assertNull(procrastinot.getDeletedTask(1));
+        assertSame(secondTask, procrastinot.getDeletedTask(2));
+        assertSame(thirdTask, procrastinot.getDeletedTask(3));
+        assertEquals(2, procrastinot.purgeDeletedTasks());
+        assertNull(procrastinot.getDeletedTask(3));
+    }
+
+    @Test
+    void countsTheSubTasksWithoutTheDeletedOnes() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task rootTask = addTask(procrastinot, "root");
+        Task deletedTask = addTask(procrastinot, "deleted");
+        Task belowDeletedTask = addTask(procrastinot, "below");
+        Task keptTask = addTask(procrastinot, "kept");
+        procrastinot.addSubTask(rootTask, deletedTask);
+        procrastinot.addSubTask(deletedTask, belowDeletedTask);
+        procrastinot.addSubTask(rootTask, keptTask);
+        assertEquals(3, procrastinot.countSubTasks(rootTask));
+
+        assertEquals(1, procrastinot.deleteTask(deletedTask));
+        //The subtasks of a deleted subtask are not counted either.
+        assertEquals(1, procrastinot.countSubTasks(rootTask));
+        assertEquals(1, procrastinot.toggleTask(rootTask));
+        procrastinot.restoreTask(deletedTask);
+        assertEquals(3, procrastinot.countSubTasks(rootTask));
+    }
+
+    private static Task addTask(final Procrastinot procrastinot, final String name, final LocalDate deadline) {
+        Task task = new Task(name, procrastinot.allocateTaskNumber());
+        task.setDeadLine(deadline);
+        procrastinot.addTask(task);
+        return task;
+    }
+
+    private static Task addTask(final Procrastinot procrastinot, final String name) {
+        return addTask(procrastinot, name, null);
+    }
+}
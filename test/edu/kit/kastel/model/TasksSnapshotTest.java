@@ -0,0 +1,81 @@
+package edu.kit.kastel.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a snapshot keeps the version of the system it was taken of, while the system is changed further.
+ * @author ucxug
+ * @version 1.0
+ */
+class TasksSnapshotTest {
+
+    @Test
+    void keepsItsVersionWhileTheSystemChanges() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task firstTask = addTask(procrastinot, "first");
+        Task secondTask = addTask(procrastinot, "second");
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+
+        procrastinot.toggleTask(firstTask);
+        procrastinot.changePriority(secondTask, Priority.HI);
+        procrastinot.deleteTask(firstTask);
+        TasksSnapshot laterSnapshot = procrastinot.getSnapshot();
+
+        assertTrue(snapshot.getVersion() < laterSnapshot.getVersion());
+        assertFalse(snapshot.getState(1).isDone());
+        assertEquals(List.of("first", "second"), getNames(snapshot.getTasks()));
+        assertFalse(snapshot.getDeletedTasks().iterator().hasNext());
+        assertTrue(laterSnapshot.getState(1).isDone());
+        assertEquals(List.of("second"), getNames(laterSnapshot.getTasks()));
+        assertEquals(List.of("first"), getNames(laterSnapshot.getDeletedTasks()));
+    }
+
+    @Test
+    void sharesTheStatesOfTheUnchangedTasks() {
+        Procrastinot procrastinot = new Procrastinot();
+        Task changedTask = addTask(procrastinot, "changed");
+        addTask(procrastinot, "unchanged");
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+
+        //Without a change in between, the same snapshot is returned.
+        assertSame(snapshot, procrastinot.getSnapshot());
+        procrastinot.tagTask(changedTask, "x");
+        TasksSnapshot laterSnapshot = procrastinot.getSnapshot();
+        assertSame(snapshot.getState(2), laterSnapshot.getState(2));
+        assertEquals(List.of(), snapshot.getState(1).getTags());
+        assertEquals(List.of("x"), laterSnapshot.getState(1).getTags());
+    }
+
+    @Test
+    void dropsThePurgedTasks() {
+        Procrastinot procrastinot = new Procrastinot();
+        procrastinot.deleteTask(addTask(procrastinot, "task"));
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+
+        procrastinot.purgeDeletedTasks();
+        assertEquals("task", snapshot.getState(1).getName());
+        assertNull(procrastinot.getSnapshot().getState(1));
+    }
+
+    private static List<String> getNames(final Iterable<TaskState> states) {
+        List<String> names = new ArrayList<>();
+        for (TaskState state : states) {
+            names.add(state.getName());
+        }
+        return names;
+    }
+
+    private static Task addTask(final Procrastinot procrastinot, final String name) {
+        Task task = new Task(name, procrastinot.allocateTaskNumber());
+        procrastinot.addTask(task);
+        return task;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.kit.kastel.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that the journal keeps its complete records and drops a record that was only partly written.
+ * @author ucxug
+ * @version 1.0
+ */
+class CommandJournalTest {
+    private static final String JOURNAL_FILE = "procrastinot.journal";
+    private static final String ADD_COMMAND = "add";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void readsTheAppendedCommands() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        appendCommands(journalFile, "first", "second");
+
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertEquals(2, journal.getSequence());
+            List<String[]> commands = journal.readCommands(0);
+            assertEquals(2, commands.size());
+            assertEquals(List.of(ADD_COMMAND, "first"), List.of(commands.get(0)));
+            assertEquals(List.of(ADD_COMMAND, "second"), List.of(commands.get(1)));
+            assertEquals(1, journal.readCommands(1).size());
+        }
+    }
+
+    @Test
+    void dropsATornRecord() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        appendCommands(journalFile, "first", "second");
+        //The last bytes of the second record are lost, like after a crash while it was written.
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertEquals(1, journal.getSequence());
+            assertEquals(1, journal.readCommands(0).size());
+            journal.append(ADD_COMMAND, new String[] {"third"});
+        }
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            List<String[]> commands = journal.readCommands(0);
+            assertEquals(2, commands.size());
+            assertEquals(List.of(ADD_COMMAND, "third"), List.of(commands.get(1)));
+        }
+    }
+
+    @Test
+    void dropsARecordWithAWrongChecksum() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        appendCommands(journalFile, "first", "second");
+        byte[] journalBytes = Files.readAllBytes(journalFile);
+        //The checksum is stored in the last bytes of the record.
+        journalBytes[journalBytes.length - 1]++;
+        Files.write(journalFile, journalBytes);
+
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertEquals(1, journal.getSequence());
+            assertEquals(List.of(ADD_COMMAND, "first"), List.of(journal.readCommands(0).get(0)));
+        }
+    }
+
+    @Test
+    void keepsTheSequenceNumbersWhenTruncated() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        appendCommands(journalFile, "first", "second", "third");
+
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            journal.truncate(2);
+        }
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertEquals(3, journal.getSequence());
+            List<String[]> commands = journal.readCommands(0);
+            assertEquals(1, commands.size());
+            assertEquals(List.of(ADD_COMMAND, "third"), List.of(commands.get(0)));
+        }
+    }
+
+    @Test
+    void staysOpenWhenTheTruncationFails() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        appendCommands(journalFile, "first", "second");
+        //The new journal file can not be created where a directory has its name.
+        Files.createDirectory(this.directory.resolve(JOURNAL_FILE + ".tmp"));
+
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertThrows(IOException.class, () -> journal.truncate(1));
+            journal.append(ADD_COMMAND, new String[] {"third"});
+        }
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            assertEquals(3, journal.readCommands(0).size());
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNoJournal() throws IOException {
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        Files.writeString(journalFile, "add task");
+
+        assertThrows(IOException.class, () -> new CommandJournal(journalFile));
+    }
+
+    private static void appendCommands(final Path journalFile, final String... taskNames) throws IOException {
+        try (CommandJournal journal = new CommandJournal(journalFile)) {
+            for (String taskName : taskNames) {
+                journal.append(ADD_COMMAND, new String[] {taskName});
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package edu.kit.kastel.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskList;
+import edu.kit.kastel.model.TaskListState;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a system written to a snapshot file is loaded again with the same tasks, TaskLists and task numbers.
+ * @author ucxug
+ * @version 1.0
+ */
+class SnapshotFileTest {
+    private static final String SNAPSHOT_FILE = "procrastinot.snapshot";
+    private static final long JOURNAL_SEQUENCE = 42;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void loadsTheWrittenSystem() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        Task parentTask = addTask(procrastinot, "parent");
+        procrastinot.changePriority(parentTask, Priority.HI);
+        procrastinot.changeDeadline(parentTask, LocalDate.of(2024, 2, 29));
+        Task subTask = addTask(procrastinot, "subé");
+        procrastinot.addSubTask(parentTask, subTask);
+        procrastinot.tagTask(subTask, "urgent");
+        procrastinot.tagTask(subTask, "home");
+        procrastinot.toggleTask(subTask);
+        addTask(procrastinot, "other");
+        TaskList taskList = new TaskList("work");
+        procrastinot.addList(taskList);
+        procrastinot.tagList(taskList, "office");
+        procrastinot.assignToList(taskList, parentTask);
+        Task deletedTask = addTask(procrastinot, "deleted");
+        procrastinot.deleteTask(deletedTask);
+
+        Path snapshotFile = this.directory.resolve(SNAPSHOT_FILE);
+        SnapshotFile.write(SnapshotFile.capture(procrastinot, JOURNAL_SEQUENCE), snapshotFile);
+        Procrastinot loadedProcrastinot = new Procrastinot();
+
+        assertEquals(JOURNAL_SEQUENCE, SnapshotFile.load(snapshotFile, loadedProcrastinot));
+        assertEquals(export(procrastinot), export(loadedProcrastinot));
+        assertEquals(procrastinot.getTaskAddedNumber(), loadedProcrastinot.getTaskAddedNumber());
+        assertNotNull(loadedProcrastinot.getDeletedTask(deletedTask.getTaskNumber()));
+        List<TaskListState> loadedLists = loadedProcrastinot.getSnapshot().getTaskLists();
+        assertEquals(1, loadedLists.size());
+        assertEquals("work", loadedLists.get(0).getName());
+        assertEquals(List.of("office"), loadedLists.get(0).getTags());
+    }
+
+    @Test
+    void loadsAnEmptySystem() throws IOException {
+        Path snapshotFile = this.directory.resolve(SNAPSHOT_FILE);
+        SnapshotFile.write(SnapshotFile.capture(new Procrastinot(), 0), snapshotFile);
+        Procrastinot loadedProcrastinot = new Procrastinot();
+
+        assertEquals(0, SnapshotFile.load(snapshotFile, loadedProcrastinot));
+        assertEquals("", export(loadedProcrastinot));
+        assertEquals(1, loadedProcrastinot.getTaskAddedNumber());
+    }
+
+    @Test
+    void rejectsAFileThatIsNoSnapshot() throws IOException {
+        Path snapshotFile = this.directory.resolve(SNAPSHOT_FILE);
+        Files.writeString(snapshotFile, "add task", StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> SnapshotFile.load(snapshotFile, new Procrastinot()));
+    }
+
+    private static Task addTask(final Procrastinot procrastinot, final String name) {
+        Task task = new Task(name, procrastinot.allocateTaskNumber());
+        procrastinot.addTask(task);
+        return task;
+    }
+
+    private static String export(final Procrastinot procrastinot) throws IOException {
+        StringWriter writer = new StringWriter();
+        TaskExport.exportTasks(writer, procrastinot.getSnapshot());
+        return writer.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package edu.kit.kastel.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.Task;
+import edu.kit.kastel.model.TaskList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the tasks are exported as valid JSON lines, with the special characters of the strings escaped.
+ * @author ucxug
+ * @version 1.0
+ */
+class TaskExportTest {
+
+    @Test
+    void exportsATaskWithoutValues() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        addTask(procrastinot, "task");
+
+        assertEquals("{\"id\":1,\"name\":\"task\",\"priority\":null,\"deadline\":null,\"done\":false,"
+            + "\"deleted\":false,\"parent\":null,\"tags\":[],\"lists\":[]}\n", export(procrastinot));
+    }
+
+    @Test
+    void exportsAllTheValuesOfATask() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        Task parentTask = addTask(procrastinot, "parent");
+        Task subTask = addTask(procrastinot, "child");
+        procrastinot.addSubTask(parentTask, subTask);
+        procrastinot.changePriority(subTask, Priority.LO);
+        procrastinot.changeDeadline(subTask, LocalDate.of(2024, 2, 29));
+        procrastinot.toggleTask(subTask);
+        procrastinot.tagTask(subTask, "b");
+        procrastinot.tagTask(subTask, "a");
+        TaskList taskList = new TaskList("work");
+        procrastinot.addList(taskList);
+        procrastinot.assignToList(taskList, subTask);
+
+        String[] lines = export(procrastinot).split("\n");
+        assertEquals(2, lines.length);
+        //The tasks are exported in the order they are shown, a task with a priority before a task without.
+        assertEquals("{\"id\":2,\"name\":\"child\",\"priority\":\"LO\",\"deadline\":\"2024-02-29\",\"done\":true,"
+            + "\"deleted\":false,\"parent\":1,\"tags\":[\"b\",\"a\"],\"lists\":[\"work\"]}", lines[0]);
+    }
+
+    @Test
+    void exportsTheDeletedTasksAfterTheOthers() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        Task deletedTask = addTask(procrastinot, "deleted");
+        addTask(procrastinot, "kept");
+        procrastinot.deleteTask(deletedTask);
+
+        String[] lines = export(procrastinot).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":2,\"name\":\"kept\",\"priority\":null,\"deadline\":null,\"done\":false,"
+            + "\"deleted\":false,\"parent\":null,\"tags\":[],\"lists\":[]}", lines[0]);
+        assertEquals("{\"id\":1,\"name\":\"deleted\",\"priority\":null,\"deadline\":null,\"done\":false,"
+            + "\"deleted\":true,\"parent\":null,\"tags\":[],\"lists\":[]}", lines[1]);
+    }
+
+    @Test
+    void escapesTheQuotesBackslashesAndControlCharacters() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        addTask(procrastinot, "a\"b\\c\td\u0001é");
+
+        String line = export(procrastinot);
+        assertEquals("{\"id\":1,\"name\":\"a\\\"b\\\\c\\u0009d\\u0001é\",",
+            line.substring(0, line.indexOf("\"priority\"")));
+    }
+
+    private static Task addTask(final Procrastinot procrastinot, final String name) {
+        Task task = new Task(name, procrastinot.allocateTaskNumber());
+        procrastinot.addTask(task);
+        return task;
+    }
+
+    private static String export(final Procrastinot procrastinot) throws IOException {
+        StringWriter writer = new StringWriter();
+        TaskExport.exportTasks(writer, procrastinot.getSnapshot());
+        return writer.toString();
+    }
+}
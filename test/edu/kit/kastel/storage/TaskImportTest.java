@@ -0,0 +1,152 @@
+package edu.kit.kastel.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.kastel.model.Priority;
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.TaskListState;
+import edu.kit.kastel.model.TaskState;
+import edu.kit.kastel.model.TasksSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that the records of an import are checked like the input of the commands and added completely,
+ *    also when they span several batches.
+ * @author ucxug
+ * @version 1.0
+ */
+class TaskImportTest {
+    private static final String IMPORT_FILE = "tasks.tsv";
+    private static final int BATCH_RECORDS = 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void importsTasksWithTheirParentsTagsAndLists() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        String records = String.join("\n",
+            "task\tp\tparent\tHI\t2024-02-29\t\t\tx,y",
+            "",
+            "task\tc\tchild\t\t\tp\t1\tz",
+            "list\twork\toffice\tp");
+
+        assertEquals(2, importRecords(records, procrastinot, new ArrayList<>()));
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+        TaskState parentTask = snapshot.getState(1);
+        assertEquals("parent", parentTask.getName());
+        assertEquals(Priority.HI, parentTask.getPriority());
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), parentTask.getDeadlineDay());
+        assertEquals(List.of("x", "y"), parentTask.getTags());
+        assertEquals(List.of("work"), parentTask.getTaskListNames());
+        TaskState subTask = snapshot.getState(2);
+        assertEquals(1, subTask.getParentNumber());
+        assertTrue(subTask.isDone());
+        assertEquals(List.of("z"), subTask.getTags());
+        TaskListState taskList = snapshot.getTaskLists().get(0);
+        assertEquals("work", taskList.getName());
+        assertEquals(List.of("office"), taskList.getTags());
+    }
+
+    @Test
+    void rejectsATaskNameWithASpace() {
+        assertRejected("task\ta\tmy task");
+    }
+
+    @Test
+    void rejectsAnInvalidTag() {
+        assertRejected("task\ta\ttask\t\t\t\t\t!!");
+    }
+
+    @Test
+    void rejectsATagGivenTwice() {
+        assertRejected("task\ta\ttask\t\t\t\t\tx,x");
+    }
+
+    @Test
+    void rejectsAnInvalidListName() {
+        assertRejected("task\ta\ttask\nlist\tmy list\t\ta");
+    }
+
+    @Test
+    void rejectsAListTagGivenTwice() {
+        assertRejected("list\twork\tx,x");
+    }
+
+    @Test
+    void rejectsAnUnknownParent() {
+        assertRejected("task\ta\ttask\t\t\tb");
+    }
+
+    @Test
+    void rejectsAReferenceUsedTwice() {
+        assertRejected("task\ta\tfirst\ntask\ta\tsecond");
+    }
+
+    @Test
+    void rejectsAnInvalidPriorityAndDeadline() {
+        assertRejected("task\ta\ttask\tXX");
+        assertRejected("task\ta\ttask\t\t2024-02-30");
+    }
+
+    @Test
+    void referencesTheTasksOfEarlierBatches() throws IOException {
+        Procrastinot procrastinot = new Procrastinot();
+        StringBuilder records = new StringBuilder("task\troot\troot\n");
+        for (int i = 0; i < BATCH_RECORDS; i++) {
+            records.append("task\t").append(i).append("\ttask\t\t\troot\n");
+        }
+        records.append("list\twork\t\troot,0\n");
+        List<String[]> batches = new ArrayList<>();
+
+        assertEquals(BATCH_RECORDS + 1, importRecords(records.toString(), procrastinot, batches));
+        assertEquals(2, batches.size());
+        TasksSnapshot snapshot = procrastinot.getSnapshot();
+        assertEquals(1, snapshot.getState(BATCH_RECORDS + 1).getParentNumber());
+        assertEquals(List.of("work"), snapshot.getState(1).getTaskListNames());
+        assertEquals(List.of("work"), snapshot.getState(2).getTaskListNames());
+
+        //The journaled batches add the same tasks without the file.
+        Procrastinot replayed = new Procrastinot();
+        for (String[] batch : batches) {
+            TaskImport.importBatch(batch, replayed);
+        }
+        assertEquals(1, replayed.getSnapshot().getState(BATCH_RECORDS + 1).getParentNumber());
+        assertEquals(List.of("work"), replayed.getSnapshot().getState(2).getTaskListNames());
+    }
+
+    private int importRecords(final String records, final Procrastinot procrastinot, final List<String[]> batches)
+        throws IOException {
+        Path file = this.directory.resolve(IMPORT_FILE);
+        Files.writeString(file, records);
+        int importedTasks = 0;
+        try (TaskImport taskImport = TaskImport.open(file, procrastinot)) {
+            for (String[] batch = taskImport.readBatch(); batch != null; batch = taskImport.readBatch()) {
+                batches.add(batch);
+                importedTasks += taskImport.addBatch(batch, procrastinot);
+            }
+        }
+        return importedTasks;
+    }
+
+    private void assertRejected(final String records) {
+        Procrastinot procrastinot = new Procrastinot();
+        //The valid first record must not be added either.
+        String allRecords = "task\tvalid\tvalid\n" + records;
+
+        assertThrows(IOException.class, () -> importRecords(allRecords, procrastinot, new ArrayList<>()));
+        assertFalse(procrastinot.getSnapshot().getTasks().iterator().hasNext());
+        assertTrue(procrastinot.getSnapshot().getTaskLists().isEmpty());
+        assertEquals(1, procrastinot.getTaskAddedNumber());
+    }
+}